@@ -19,6 +19,7 @@ include(":samples:inject-mocked-dependencies")
 include(":samples:junit-basics")
 include(":samples:models")
 include(":samples:spek-mockk")
+include(":stubr-benchmarks")
 include(":stubr-bom")
 include(":stubr-core")
 include(":stubr-integration-test")
@@ -35,5 +36,6 @@ pluginManagement {
     plugins {
         id("com.github.ben-manes.versions") version "0.38.0"
         id("com.palantir.git-version") version "0.12.3"
+        id("me.champeau.jmh") version "0.6.6"
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+plugins {
+    `java-library-conventions`
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    jmh(project(":stubr-core"))
+    jmh(project(":samples:models"))
+    jmh(testFixtures(project(":stubr-integration-test")))
+}
+
+jmh {
+    jmhVersion.set("1.34")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+tasks {
+    javadocJar {
+        isEnabled = false
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.benchmarks;
+
+import ch.leadrian.stubr.core.Stubber;
+import ch.leadrian.stubr.core.strategy.StubbingStrategies;
+import ch.leadrian.stubr.integrationtest.testdata.Primitives;
+import ch.leadrian.stubr.integrationtest.testdata.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks stubbing interfaces with caching and non-caching proxies.
+ * <p>
+ * The benchmarks are run by {@link SingleThreadedProxyBenchmark} and {@link MultiThreadedProxyBenchmark}, which share
+ * a single {@link Stubber} between all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class ProxyBenchmark {
+
+    @Param
+    public StubberVariant variant;
+
+    @Param({"true", "false"})
+    public boolean cacheStubs;
+
+    private Stubber stubber;
+
+    @Setup
+    public void setUp() {
+        stubber = Stubber.builder()
+                .include(variant.createStubber())
+                .stubWith(StubbingStrategies.proxy(cacheStubs))
+                .build();
+    }
+
+    @Benchmark
+    public TestData stubProxy() {
+        return stubber.stub(TestData.class);
+    }
+
+    @Benchmark
+    public void stubProxyAndInvokeMethods(Blackhole blackhole) {
+        TestData testData = stubber.stub(TestData.class);
+        blackhole.consume(testData.getCollections().getMap());
+        blackhole.consume(testData.getArrays().getStringArray());
+        blackhole.consume(testData.getPies().getCherryPie());
+    }
+
+    @Benchmark
+    public void invokeProxyMethodsRepeatedly(Blackhole blackhole) {
+        Primitives primitives = stubber.stub(Primitives.class);
+        for (int i = 0; i < 10; i++) {
+            blackhole.consume(primitives.getInt());
+            blackhole.consume(primitives.getDouble());
+        }
+    }
+
+}
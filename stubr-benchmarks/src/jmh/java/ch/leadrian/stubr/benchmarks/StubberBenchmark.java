@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.benchmarks;
+
+import ch.leadrian.stubr.core.Stubber;
+import ch.leadrian.stubr.core.type.TypeLiteral;
+import ch.leadrian.stubr.integrationtest.testdata.Cherry;
+import ch.leadrian.stubr.integrationtest.testdata.Pie;
+import ch.leadrian.stubr.samples.models.AnimalType;
+import ch.leadrian.stubr.samples.models.Family;
+import ch.leadrian.stubr.samples.models.Person;
+import ch.leadrian.stubr.samples.models.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks stubbing the sample models and the integration test data with the built-in {@link Stubber}s.
+ * <p>
+ * The benchmarks are run by {@link SingleThreadedStubberBenchmark} and {@link MultiThreadedStubberBenchmark}, which
+ * share a single {@link Stubber} between all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class StubberBenchmark {
+
+    private static final TypeLiteral<List<String>> LIST_OF_STRINGS = new TypeLiteral<List<String>>() {};
+    private static final TypeLiteral<Map<Integer, String>> MAP_OF_STRINGS = new TypeLiteral<Map<Integer, String>>() {};
+    private static final TypeLiteral<NavigableMap<Integer, List<String>>> NAVIGABLE_MAP_OF_LISTS = new TypeLiteral<NavigableMap<Integer, List<String>>>() {};
+    private static final TypeLiteral<Pie<Cherry>> CHERRY_PIE = new TypeLiteral<Pie<Cherry>>() {};
+
+    @Param
+    public StubberVariant variant;
+
+    private Stubber stubber;
+
+    @Setup
+    public void setUp() {
+        stubber = variant.createStubber();
+    }
+
+    @Benchmark
+    public Pet stubFlatObject() {
+        return stubber.stub(Pet.class);
+    }
+
+    @Benchmark
+    public Family stubDeepObjectGraph() {
+        return stubber.stub(Family.class);
+    }
+
+    @Benchmark
+    public Person stubObjectWithCommonValues() {
+        return stubber.stub(Person.class);
+    }
+
+    @Benchmark
+    public List<String> stubList() {
+        return stubber.stub(LIST_OF_STRINGS);
+    }
+
+    @Benchmark
+    public Map<Integer, String> stubMap() {
+        return stubber.stub(MAP_OF_STRINGS);
+    }
+
+    @Benchmark
+    public NavigableMap<Integer, List<String>> stubNestedGenericCollections() {
+        return stubber.stub(NAVIGABLE_MAP_OF_LISTS);
+    }
+
+    @Benchmark
+    public Pie<Cherry> stubGenericObject() {
+        return stubber.stub(CHERRY_PIE);
+    }
+
+    @Benchmark
+    public AnimalType stubEnum() {
+        return stubber.stub(AnimalType.class);
+    }
+
+    @Benchmark
+    public int[] stubIntArray() {
+        return stubber.stub(int[].class);
+    }
+
+    @Benchmark
+    public double[] stubDoubleArray() {
+        return stubber.stub(double[].class);
+    }
+
+}
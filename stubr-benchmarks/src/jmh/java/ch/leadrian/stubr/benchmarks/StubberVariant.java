@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.benchmarks;
+
+import ch.leadrian.stubr.core.Stubber;
+import ch.leadrian.stubr.core.Stubbers;
+
+import java.util.function.Supplier;
+
+/**
+ * The built-in {@link Stubber}s that are benchmarked.
+ */
+public enum StubberVariant {
+    DEFAULT(Stubbers::defaultStubber),
+    MINIMAL(Stubbers::minimalStubber);
+
+    private final Supplier<Stubber> stubberSupplier;
+
+    StubberVariant(Supplier<Stubber> stubberSupplier) {
+        this.stubberSupplier = stubberSupplier;
+    }
+
+    public Stubber createStubber() {
+        return stubberSupplier.get();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.benchmarks;
+
+import ch.leadrian.stubr.core.type.TypeLiteral;
+import ch.leadrian.stubr.core.type.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link Types} utilities used by most stubbing strategies when checking whether a type is accepted.
+ * <p>
+ * Apart from trimming wildcard types, which copies the bounds of the wildcard, the allocation rate reported by the GC
+ * profiler is expected to be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TypesBenchmark {
+
+    private static final Type PARAMETERIZED_TYPE = new TypeLiteral<List<String>>() {}.getType();
+    private static final Type GENERIC_ARRAY_TYPE = new TypeLiteral<List<String>[]>() {}.getType();
+    private static final Type WILDCARD_TYPE = ((ParameterizedType) new TypeLiteral<List<? extends Number>>() {}.getType()).getActualTypeArguments()[0];
+
+    @Benchmark
+    public Optional<Class<?>> getRawTypeOfClass() {
+        return Types.getRawType(String.class);
+    }
+
+    @Benchmark
+    public Optional<Class<?>> getRawTypeOfParameterizedType() {
+        return Types.getRawType(PARAMETERIZED_TYPE);
+    }
+
+    @Benchmark
+    public Optional<Class<?>> getRawTypeOfGenericArrayType() {
+        return Types.getRawType(GENERIC_ARRAY_TYPE);
+    }
+
+    @Benchmark
+    public Type trimWildcardOfClass() {
+        return Types.trimWildcard(String.class);
+    }
+
+    @Benchmark
+    public Type trimWildcardOfWildcardType() {
+        return Types.trimWildcard(WILDCARD_TYPE);
+    }
+
+}
@@ -16,28 +16,83 @@
 
 package ch.leadrian.stubr.core;
 
+import ch.leadrian.stubr.core.strategy.EnhancingStubbingStrategy;
 import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList;
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableMap;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static ch.leadrian.stubr.core.strategy.StubbingStrategies.conditional;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
 
 final class DefaultStubber extends Stubber {
 
     private final List<StubbingStrategy> strategies;
+    private final List<String> removedStrategies;
+    private final Map<Class<?>, List<StubbingStrategy>> strategiesByRawType;
+    private final List<StubbingStrategy> unrestrictedStrategies;
 
-    private DefaultStubber(List<StubbingStrategy> strategies) {
+    private DefaultStubber(List<StubbingStrategy> strategies, List<String> removedStrategies) {
         this.strategies = ImmutableList.copyOf(strategies);
+        this.removedStrategies = ImmutableList.copyOf(removedStrategies);
+        this.strategiesByRawType = indexByRawType(this.strategies);
+        this.unrestrictedStrategies = this.strategies.stream()
+                .filter(strategy -> !strategy.getAcceptedRawTypes().isPresent())
+                .collect(toImmutableList());
+    }
+
+    private static Map<Class<?>, List<StubbingStrategy>> indexByRawType(List<StubbingStrategy> strategies) {
+        Set<Class<?>> rawTypes = strategies.stream()
+                .map(StubbingStrategy::getAcceptedRawTypes)
+                .filter(Optional::isPresent)
+                .flatMap(acceptedRawTypes -> acceptedRawTypes.get().stream())
+                .collect(toSet());
+        Map<Class<?>, List<StubbingStrategy>> strategiesByRawType = new HashMap<>();
+        rawTypes.forEach(rawType -> strategiesByRawType.put(rawType, getStrategies(strategies, rawType)));
+        return ImmutableMap.copyOf(strategiesByRawType);
+    }
+
+    private static List<StubbingStrategy> getStrategies(List<StubbingStrategy> strategies, Class<?> rawType) {
+        // Keep the order of the strategies, since it defines their precedence
+        return strategies.stream()
+                .filter(strategy -> strategy.getAcceptedRawTypes()
+                        .map(acceptedRawTypes -> acceptedRawTypes.contains(rawType))
+                        .orElse(true))
+                .collect(toImmutableList());
+    }
+
+    @Override
+    List<StubbingStrategy> getStrategies() {
+        return strategies;
     }
 
     @Override
-    Stream<StubbingContext> newContextStream(Stubber rootStubber, StubbingSite site, Type type) {
-        return strategies.stream().map(strategy -> new StubbingContext(rootStubber, site, type, strategy));
+    List<StubbingStrategy> getStrategies(Type type) {
+        // Types without a raw type may still be accepted by any strategy
+        return getRawType(type)
+                .map(rawType -> strategiesByRawType.getOrDefault(rawType, unrestrictedStrategies))
+                .orElse(strategies);
+    }
+
+    @Override
+    public String describe() {
+        StringBuilder description = new StringBuilder("Strategies in order of precedence:");
+        strategies.forEach(strategy -> description.append("\n  ").append(strategy));
+        if (!removedStrategies.isEmpty()) {
+            description.append("\nRemoved strategies:");
+            removedStrategies.forEach(removedStrategy -> description.append("\n  ").append(removedStrategy));
+        }
+        return description.toString();
     }
 
     static final class Builder implements StubberBuilder {
@@ -90,14 +145,33 @@ final class DefaultStubber extends Stubber {
 
         @Override
         public Stubber build() {
-            Stubber builtStubber = new DefaultStubber(strategies);
-            if (stubbers.isEmpty()) {
-                return builtStubber;
-            } else {
-                List<Stubber> stubberComposition = new ArrayList<>(this.stubbers);
-                stubberComposition.add(0, builtStubber);
-                return new CompositeStubber(stubberComposition);
+            List<StubbingStrategy> allStrategies = new ArrayList<>(strategies);
+            stubbers.forEach(stubber -> allStrategies.addAll(stubber.getStrategies()));
+
+            List<StubbingStrategy> applicableStrategies = new ArrayList<>(allStrategies.size());
+            List<String> removedStrategies = new ArrayList<>();
+            for (StubbingStrategy strategy : allStrategies) {
+                Optional<String> removalReason = getRemovalReason(applicableStrategies, strategy);
+                if (removalReason.isPresent()) {
+                    removedStrategies.add(removalReason.get());
+                } else {
+                    applicableStrategies.add(strategy);
+                }
+            }
+            return new DefaultStubber(applicableStrategies, removedStrategies);
+        }
+
+        private static Optional<String> getRemovalReason(List<StubbingStrategy> higherPrecedenceStrategies, StubbingStrategy strategy) {
+            for (StubbingStrategy higherPrecedenceStrategy : higherPrecedenceStrategies) {
+                // An enhancing strategy may be applied multiple times, once for each occurrence
+                if (higherPrecedenceStrategy == strategy && !(strategy instanceof EnhancingStubbingStrategy)) {
+                    return Optional.of(String.format("%s: duplicate", strategy));
+                }
+                if (higherPrecedenceStrategy.shadows(strategy)) {
+                    return Optional.of(String.format("%s: shadowed by %s", strategy, higherPrecedenceStrategy));
+                }
             }
+            return Optional.empty();
         }
 
     }
@@ -18,16 +18,19 @@ package ch.leadrian.stubr.core;
 
 import ch.leadrian.stubr.core.site.StubbingSites;
 import ch.leadrian.stubr.core.type.TypeLiteral;
+import ch.leadrian.stubr.core.type.TypeResolver;
 import ch.leadrian.stubr.core.type.Types;
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList;
 
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static ch.leadrian.stubr.internal.com.google.common.primitives.Primitives.wrap;
-import static java.util.Collections.reverse;
-import static java.util.stream.Collectors.toCollection;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 /**
  * Class {@code Stubber} represents the main API used to stub a specific type. A {@code Stubber} may be a composition of
@@ -39,6 +42,14 @@ import static java.util.stream.Collectors.toCollection;
  */
 public abstract class Stubber {
 
+    private static final int MAX_CACHED_TYPES_PER_RAW_TYPE = 256;
+    private static final String FAILED_TO_STUB_MESSAGE_FORMAT = "Failed to stub instance of %s at %s";
+    private static final Object NO_VALUE = new Object();
+
+    // Held by the stubber instead of the raw types, since a JDK raw type would otherwise pin the class loaders of its
+    // cached parameterizations
+    private final Map<Class<?>, TypeCache> typeCaches = new ConcurrentHashMap<>();
+
     Stubber() {
     }
 
@@ -52,25 +63,82 @@ public abstract class Stubber {
         return new DefaultStubber.Builder();
     }
 
-    abstract Stream<StubbingContext> newContextStream(Stubber rootStubber, StubbingSite site, Type type);
+    /**
+     * Describes the {@link StubbingStrategy}s used by {@code this} {@code Stubber} in order of their precedence, as well
+     * as the strategies that have been removed when {@code this} {@code Stubber} was built, since they could never be
+     * applied.
+     *
+     * @return a human-readable description of {@code this} {@code Stubber}
+     * @see StubberBuilder#build()
+     */
+    public abstract String describe();
+
+    abstract List<StubbingStrategy> getStrategies();
 
-    final StubbingContext newContext(Stubber rootStubber, StubbingSite site, Type type) {
-        List<StubbingContext> contexts = newContextStream(rootStubber, site, type).collect(toCollection(ArrayList::new));
-        reverse(contexts);
+    abstract List<StubbingStrategy> getStrategies(Type type);
 
-        StubbingContext root = null;
-        for (StubbingContext context : contexts) {
-            if (root != null) {
-                context.setNext(root);
-            }
+    StubbingContext newContext(Stubber rootStubber, StubbingSite site, Type type) {
+        List<StubbingStrategy> strategies = getCandidateStrategies(rootStubber, site, type);
+        StubbingContext root = StubbingContext.findFirst(rootStubber, site, type, strategies, 0);
+        return root != null ? root : new StubbingContext(rootStubber, site, type, emptyList(), 0);
+    }
+
+    private List<StubbingStrategy> getCandidateStrategies(Stubber rootStubber, StubbingSite site, Type type) {
+        TypeCache typeCache = getTypeCache(type);
+        if (typeCache == null) {
+            // Type variables and wildcards are rarely stubbed and are therefore not cached
+            return resolveCandidateStrategies(rootStubber, site, type);
+        }
+        List<StubbingStrategy> candidateStrategies = typeCache.candidateStrategiesByType.get(type);
+        if (candidateStrategies == null) {
+            // Not using computeIfAbsent, since a strategy may stub other values while resolving the candidates
+            candidateStrategies = resolveCandidateStrategies(rootStubber, site, type);
+            TypeCache.ensureCapacity(typeCache.candidateStrategiesByType);
+            // Only keys are canonicalized, lookups with equal non-canonical types are hits as well
+            typeCache.candidateStrategiesByType.putIfAbsent(Types.canonicalize(type), candidateStrategies);
+        }
+        return candidateStrategies;
+    }
 
-            if (context.hasResult()) { // Fully set up the context before filtering it out
-                root = context;
-            } else {
-                context.setNext(null);
+    private List<StubbingStrategy> resolveCandidateStrategies(Stubber rootStubber, StubbingSite site, Type type) {
+        ImmutableList.Builder<StubbingStrategy> candidateStrategies = ImmutableList.builder();
+        for (StubbingStrategy strategy : getStrategies(type)) {
+            if (strategy.isContextDependent(type)) {
+                candidateStrategies.add(strategy);
+            } else if (strategy.accepts(new StubbingContext(rootStubber, site, type, singletonList(strategy), 0), type)) {
+                // Strategies with lower precedence can never be reached
+                candidateStrategies.add(strategy);
+                break;
             }
         }
-        return root != null ? root : new StubbingContext(this, site, type, null);
+        return candidateStrategies.build();
+    }
+
+    TypeResolver getTypeResolver(Type type) {
+        TypeCache typeCache = getTypeCache(type);
+        if (typeCache == null) {
+            return TypeResolver.using(type);
+        }
+        TypeResolver typeResolver = typeCache.typeResolversByType.get(type);
+        if (typeResolver == null) {
+            TypeCache.ensureCapacity(typeCache.typeResolversByType);
+            typeResolver = typeCache.typeResolversByType.computeIfAbsent(Types.canonicalize(type), TypeResolver::using);
+        }
+        return typeResolver;
+    }
+
+    private TypeCache getTypeCache(Type type) {
+        if (type instanceof Class) {
+            return getTypeCache((Class<?>) type);
+        }
+        return Types.getRawType(type)
+                .map(this::getTypeCache)
+                .orElse(null);
+    }
+
+    private TypeCache getTypeCache(Class<?> rawType) {
+        TypeCache typeCache = typeCaches.get(rawType);
+        return typeCache != null ? typeCache : typeCaches.computeIfAbsent(rawType, key -> new TypeCache());
     }
 
     /**
@@ -88,7 +156,7 @@ public abstract class Stubber {
      * @return a successful {@link Result} containing the stub value, or a failure result
      */
     public final Result<?> tryToStub(Type type, StubbingSite site) {
-        return newContext(this, site, type).result();
+        return stubResult(type, site, Object.class);
     }
 
     /**
@@ -111,11 +179,28 @@ public abstract class Stubber {
      * @see Stubber#tryToStub(Type, StubbingSite)
      */
     public final Object stub(Type type, StubbingSite site) {
-        Result<?> result = tryToStub(type, site);
-        if (result.isFailure()) {
-            throw new StubbingException(String.format("Failed to stub instance of %s at %s", type, site));
+        Object value = stubValue(type, site);
+        if (value == NO_VALUE) {
+            throw new StubbingException(FAILED_TO_STUB_MESSAGE_FORMAT, site, type, null);
         }
-        return result.getValue();
+        return value;
+    }
+
+    /**
+     * Returns the stub value for the given {@code type}, or {@code NO_VALUE} if no strategy accepts the type.
+     */
+    private Object stubValue(Type type, StubbingSite site) {
+        StubbingContext context = newContext(this, site, type);
+        return context.hasResult() ? context.stub() : NO_VALUE;
+    }
+
+    /**
+     * Returns the stub value for the given {@code type} as a {@link Result} of the given {@code valueType}. A failure is
+     * returned as a value, no {@link StubbingException} is created.
+     */
+    final <T> Result<T> stubResult(Type type, StubbingSite site, Class<T> valueType) {
+        Object value = stubValue(type, site);
+        return value != NO_VALUE ? Result.success(valueType.cast(value)) : Result.failure();
     }
 
     /**
@@ -128,7 +213,7 @@ public abstract class Stubber {
      * @see Stubber#tryToStub(Type, StubbingSite)
      */
     public final <T> Result<T> tryToStub(Class<T> type, StubbingSite site) {
-        return tryToStub((Type) type, site).map(value -> wrap(type).cast(value));
+        return stubResult(type, site, wrap(type));
     }
 
     /**
@@ -186,7 +271,7 @@ public abstract class Stubber {
      */
     public final <T> Result<T> tryToStub(TypeLiteral<T> typeLiteral, StubbingSite site) {
         Class<T> rawType = getRawType(typeLiteral);
-        return tryToStub(typeLiteral.getType(), site).map(rawType::cast);
+        return stubResult(typeLiteral.getType(), site, rawType);
     }
 
     /**
@@ -237,8 +322,28 @@ public abstract class Stubber {
     }
 
     private <T> Class<T> getRawType(TypeLiteral<T> typeLiteral) {
-        return Types.getRawType(typeLiteral)
-                .orElseThrow(() -> new IllegalArgumentException(String.format("Cannot get raw type of %s", typeLiteral.getType())));
+        Optional<Class<T>> rawType = Types.getRawType(typeLiteral);
+        if (!rawType.isPresent()) {
+            throw new IllegalArgumentException(String.format("Cannot get raw type of %s", typeLiteral.getType()));
+        }
+        return rawType.get();
+    }
+
+    /**
+     * Caches for all types sharing the same raw type, for example a class and its parameterizations.
+     */
+    private static final class TypeCache {
+
+        private final Map<Type, List<StubbingStrategy>> candidateStrategiesByType = new ConcurrentHashMap<>();
+        private final Map<Type, TypeResolver> typeResolversByType = new ConcurrentHashMap<>();
+
+        static void ensureCapacity(Map<Type, ?> cache) {
+            if (cache.size() >= MAX_CACHED_TYPES_PER_RAW_TYPE) {
+                // Keep the cache bounded, for example when many distinct parameterizations of a class are stubbed
+                cache.clear();
+            }
+        }
+
     }
 
 }
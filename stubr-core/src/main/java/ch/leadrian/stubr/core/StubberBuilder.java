@@ -108,8 +108,13 @@ public interface StubberBuilder {
     /**
      * Builds a {@link Stubber} instance that will attempt to stub an instance for a certain type using the configured
      * {@link Stubber} baselines and {@link StubbingStrategy}s.
+     * <p>
+     * The strategies of included {@link Stubber}s are merged with the configured strategies. Strategies that can never
+     * be applied are removed, namely repeated instances of the same strategy and strategies that are shadowed by a
+     * strategy with a higher precedence. Removed strategies are listed by {@link Stubber#describe()}.
      *
      * @return a concrete {@link Stubber} instance
+     * @see StubbingStrategy#shadows(StubbingStrategy)
      */
     Stubber build();
 
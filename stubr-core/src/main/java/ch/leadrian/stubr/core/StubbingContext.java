@@ -19,6 +19,7 @@ package ch.leadrian.stubr.core;
 import ch.leadrian.stubr.core.type.TypeResolver;
 
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
@@ -33,20 +34,37 @@ public final class StubbingContext {
 
     private final Stubber stubber;
     private final StubbingSite site;
-    private final TypeResolver typeResolver;
     private final Type type;
-    private final StubbingStrategy strategy;
-    private StubbingContext next;
+    private final List<StubbingStrategy> strategies;
+    private final int index;
+    private TypeResolver typeResolver;
+    private Optional<StubbingContext> next;
+    private Boolean hasResult;
 
-    StubbingContext(Stubber stubber, StubbingSite site, Type type, StubbingStrategy strategy) {
+    StubbingContext(Stubber stubber, StubbingSite site, Type type, List<StubbingStrategy> strategies, int index) {
         requireNonNull(stubber, "stubber");
         requireNonNull(site, "site");
         requireNonNull(type, "type");
+        requireNonNull(strategies, "strategies");
         this.stubber = stubber;
         this.site = site;
-        this.typeResolver = TypeResolver.using(type);
         this.type = type;
-        this.strategy = strategy;
+        this.strategies = strategies;
+        this.index = index;
+    }
+
+    /**
+     * Returns the first context that can provide a result, starting with the strategy at {@code fromIndex}. Contexts
+     * are created and evaluated lazily, strategies after the first accepting one are not evaluated at all.
+     */
+    static StubbingContext findFirst(Stubber stubber, StubbingSite site, Type type, List<StubbingStrategy> strategies, int fromIndex) {
+        for (int i = fromIndex; i < strategies.size(); i++) {
+            StubbingContext context = new StubbingContext(stubber, site, type, strategies, i);
+            if (context.hasResult()) {
+                return context;
+            }
+        }
+        return null;
     }
 
     /**
@@ -67,6 +85,10 @@ public final class StubbingContext {
      * @return the {@link TypeResolver} that is used to resolve types
      */
     public TypeResolver getTypeResolver() {
+        if (typeResolver == null) {
+            // Most contexts never resolve any types, the resolver is shared by all contexts of the same type
+            typeResolver = stubber.getTypeResolver(type);
+        }
         return typeResolver;
     }
 
@@ -74,19 +96,24 @@ public final class StubbingContext {
      * @return the context that may be applied afterwards
      */
     public Optional<StubbingContext> getNext() {
-        return Optional.ofNullable(next);
-    }
-
-    void setNext(StubbingContext next) {
-        this.next = next;
+        if (next == null) {
+            next = Optional.ofNullable(findFirst(stubber, site, type, strategies, index + 1));
+        }
+        return next;
     }
 
     /**
+     * The outcome is only evaluated once per context, repeated calls return the same outcome.
+     *
      * @return {@code true} if this {@link StubbingContext} can provide a result, else {@code false}
      * @see ch.leadrian.stubr.core.strategy.EnhancingStubbingStrategy
      */
     public boolean hasResult() {
-        return strategy != null && strategy.accepts(this, type);
+        if (hasResult == null) {
+            StubbingStrategy strategy = getStrategy();
+            hasResult = strategy != null && strategy.accepts(this, type);
+        }
+        return hasResult;
     }
 
     /**
@@ -94,7 +121,24 @@ public final class StubbingContext {
      * @see ch.leadrian.stubr.core.strategy.EnhancingStubbingStrategy
      */
     public Result<?> result() {
+        StubbingStrategy strategy = getStrategy();
         return strategy != null ? Result.success(strategy.stub(this, type)) : Result.failure();
     }
 
+    /**
+     * Returns the stub value computed in this context without wrapping it in a {@link Result}.
+     * <p>
+     * Must only be called if {@link StubbingContext#hasResult()} returns {@code true}.
+     *
+     * @return the stub value computed in this context
+     * @see ch.leadrian.stubr.core.strategy.EnhancingStubbingStrategy
+     */
+    public Object stub() {
+        return getStrategy().stub(this, type);
+    }
+
+    private StubbingStrategy getStrategy() {
+        return index < strategies.size() ? strategies.get(index) : null;
+    }
+
 }
@@ -28,6 +28,9 @@ public class StubbingException extends IllegalStateException {
 
     private final transient StubbingSite site;
     private final transient Type type;
+    private final transient String messageFormat;
+    private final transient String details;
+    private transient String formattedMessage;
 
     /**
      * Constructor that derives the message from the given {@link StubbingSite} and the given {@link Type} and uses
@@ -39,9 +42,7 @@ public class StubbingException extends IllegalStateException {
      *                exception
      */
     public StubbingException(String message, StubbingSite site, Type type) {
-        super(String.format("Cannot stub %s at %s: %s", type, site, message));
-        this.site = site;
-        this.type = type;
+        this("Cannot stub %s at %s: %s", site, type, message);
     }
 
     /**
@@ -51,9 +52,7 @@ public class StubbingException extends IllegalStateException {
      * @param type the {@link Type} which caused a {@link Stubber} or {@link StubbingStrategy} to throw the exception
      */
     public StubbingException(StubbingSite site, Type type) {
-        super(String.format("Cannot stub %s at %s", type, site));
-        this.site = site;
-        this.type = type;
+        this("Cannot stub %s at %s", site, type, null);
     }
 
     /**
@@ -65,6 +64,8 @@ public class StubbingException extends IllegalStateException {
         super(message);
         this.site = null;
         this.type = null;
+        this.messageFormat = null;
+        this.details = null;
     }
 
     /**
@@ -76,6 +77,29 @@ public class StubbingException extends IllegalStateException {
         super(cause);
         this.site = null;
         this.type = null;
+        this.messageFormat = null;
+        this.details = null;
+    }
+
+    StubbingException(String messageFormat, StubbingSite site, Type type, String details) {
+        this.site = site;
+        this.type = type;
+        this.messageFormat = messageFormat;
+        this.details = details;
+    }
+
+    /**
+     * The message is only formatted when it is requested for the first time, since formatting deeply nested {@link
+     * StubbingSite}s is expensive.
+     *
+     * @return the message of the exception
+     */
+    @Override
+    public String getMessage() {
+        if (formattedMessage == null && messageFormat != null) {
+            formattedMessage = String.format(messageFormat, type, site, details);
+        }
+        return formattedMessage != null ? formattedMessage : super.getMessage();
     }
 
     /**
@@ -92,4 +116,20 @@ public class StubbingException extends IllegalStateException {
         return Optional.ofNullable(type);
     }
 
+    private Object writeReplace() {
+        if (messageFormat == null) {
+            return this;
+        }
+        // Serialized with the formatted message as regular message, the serialized form remains unchanged
+        StubbingException replacement = new StubbingException(getMessage());
+        if (getCause() != null) {
+            replacement.initCause(getCause());
+        }
+        replacement.setStackTrace(getStackTrace());
+        for (Throwable suppressed : getSuppressed()) {
+            replacement.addSuppressed(suppressed);
+        }
+        return replacement;
+    }
+
 }
@@ -19,6 +19,8 @@ package ch.leadrian.stubr.core;
 import ch.leadrian.stubr.core.strategy.StubbingStrategies;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * This interface represents a strategy to stub a concrete type.
@@ -72,6 +74,55 @@ public interface StubbingStrategy {
      */
     Object stub(StubbingContext context, Type type);
 
+    /**
+     * Determines whether the outcome of {@link StubbingStrategy#accepts(StubbingContext, Type)} for the given {@code
+     * type} may depend on the {@link StubbingContext}, for example on its {@link StubbingSite} or on the {@link
+     * StubbingContext#getNext()} context.
+     * <p>
+     * A {@link Stubber} remembers the outcome of {@code accepts} per {@link Type} for any strategy that returns {@code
+     * false} and will not ask the strategy again for the same {@link Type}. The default implementation returns {@code
+     * true}, which is always safe.
+     *
+     * @param type type for which a stub value is requested
+     * @return {@code true} if the outcome of {@code accepts} for the given {@code type} depends on the {@link
+     * StubbingContext}, else {@code false}
+     */
+    default boolean isContextDependent(Type type) {
+        return true;
+    }
+
+    /**
+     * Returns the raw types of all types that may ever be accepted by {@code this} strategy, if they are known in
+     * advance.
+     * <p>
+     * If present, {@link StubbingStrategy#accepts(StubbingContext, Type)} must only return {@code true} for types whose
+     * raw type, as determined by {@link ch.leadrian.stubr.core.type.Types#getRawType(Type)}, is contained in the
+     * returned set. A {@link Stubber} uses this information to only consider strategies that may accept a requested
+     * type. The default implementation returns {@link Optional#empty()}, meaning that any type may be accepted.
+     *
+     * @return the raw types of all types that may be accepted, or {@link Optional#empty()} if they are unknown
+     */
+    default Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.empty();
+    }
+
+    /**
+     * Determines whether {@code this} strategy accepts any type in any {@link StubbingContext} that may be accepted by
+     * the given {@code other} strategy.
+     * <p>
+     * If {@code true} is returned, {@code other} can never be applied if it has a lower precedence than {@code this}
+     * strategy and may therefore be removed when a {@link Stubber} is built. The default implementation returns {@code
+     * false}, which is always safe.
+     *
+     * @param other a strategy with a lower precedence than {@code this} strategy
+     * @return {@code true} if {@code other} can never be applied if it has a lower precedence than {@code this}
+     * strategy, else {@code false}
+     * @see StubberBuilder#build()
+     */
+    default boolean shadows(StubbingStrategy other) {
+        return false;
+    }
+
     /**
      * Creates a {@link StubbingStrategy} that is only applied both {@code this} and the given {@link Matcher} accept a
      * given {@link StubbingContext} and {@link Type}. The created stubbing strategy will delegate to {@code this} when
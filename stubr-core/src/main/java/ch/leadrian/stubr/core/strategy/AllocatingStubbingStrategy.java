@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.StubbingContext;
+import ch.leadrian.stubr.core.StubbingException;
+import ch.leadrian.stubr.core.StubbingStrategy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static java.lang.reflect.Modifier.isAbstract;
+
+enum AllocatingStubbingStrategy implements StubbingStrategy {
+    INSTANCE;
+
+    @Override
+    public boolean accepts(StubbingContext context, Type type) {
+        return getAllocator(type).isPresent();
+    }
+
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Object stub(StubbingContext context, Type type) {
+        Constructor<?> allocator = getAllocator(type)
+                .orElseThrow(() -> new StubbingException("Cannot allocate instance", context.getSite(), type));
+        try {
+            return allocator.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Optional<Constructor<?>> getAllocator(Type type) {
+        Optional<Class<?>> rawType = getRawType(type);
+        if (!rawType.isPresent() || !isInstantiable(rawType.get())) {
+            return Optional.empty();
+        }
+        return ReflectionMetadata.of(rawType.get()).getAllocator();
+    }
+
+    private boolean isInstantiable(Class<?> clazz) {
+        return !isAbstract(clazz.getModifiers())
+                && !clazz.isPrimitive()
+                && !clazz.isArray()
+                && !clazz.isEnum()
+                && !clazz.isInterface()
+                && !isPlatformClass(clazz);
+    }
+
+    private boolean isPlatformClass(Class<?> clazz) {
+        // Instances of classes such as String or Class are corrupt if none of their constructors has been run
+        return clazz.getClassLoader() == null || clazz.getName().startsWith("java.");
+    }
+
+}
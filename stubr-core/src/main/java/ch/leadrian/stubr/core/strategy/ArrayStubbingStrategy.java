@@ -19,6 +19,7 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.stubr.core.Stubber;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
+import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.ArrayStubbingSite;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
@@ -29,6 +30,7 @@ import java.lang.reflect.Type;
 import java.util.function.ToIntFunction;
 
 import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
 final class ArrayStubbingStrategy extends SimpleStubbingStrategy<Object> {
@@ -55,6 +57,16 @@ final class ArrayStubbingStrategy extends SimpleStubbingStrategy<Object> {
         return true;
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public boolean shadows(StubbingStrategy other) {
+        return other instanceof ArrayStubbingStrategy;
+    }
+
     @Override
     protected Object stubClass(StubbingContext context, Class<?> type) {
         Class<?> componentType = type.getComponentType();
@@ -133,4 +145,11 @@ final class ArrayStubbingStrategy extends SimpleStubbingStrategy<Object> {
         }
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("arraySize", arraySize)
+                .toString();
+    }
+
 }
@@ -19,6 +19,7 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.StubbingSite;
+import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
 import java.lang.reflect.GenericArrayType;
@@ -26,12 +27,17 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.stream.IntStream;
 
+import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -65,6 +71,27 @@ final class CollectionStubbingStrategy<T extends Collection> extends SimpleStubb
         return false;
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return getRawType(type)
+                .filter(collectionClass::equals)
+                .isPresent();
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.of(singleton(collectionClass));
+    }
+
+    @Override
+    public boolean shadows(StubbingStrategy other) {
+        if (!(other instanceof CollectionStubbingStrategy)) {
+            return false;
+        }
+        CollectionStubbingStrategy<?> otherStrategy = (CollectionStubbingStrategy<?>) other;
+        return collectionClass == otherStrategy.collectionClass && ConstantSize.covers(collectionSize, otherStrategy.collectionSize);
+    }
+
     @Override
     protected T stubClass(StubbingContext context, Class<?> type) {
         return collectionFactory.apply(emptyList());
@@ -86,4 +113,12 @@ final class CollectionStubbingStrategy<T extends Collection> extends SimpleStubb
         throw new StubbingException(context.getSite(), type);
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("collectionClass", collectionClass)
+                .add("collectionSize", collectionSize)
+                .toString();
+    }
+
 }
@@ -21,13 +21,24 @@ import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingStrategy;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 
+import static ch.leadrian.stubr.core.type.Types.canonicalize;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
 import static java.util.Objects.requireNonNull;
 
 final class ConditionalStubbingStrategy implements StubbingStrategy {
 
+    private static final int MAX_REJECTED_TYPES = 1024;
+
     private final StubbingStrategy delegate;
     private final Matcher<? super Type> typeMatcher;
+    // Weakly keyed, so that strategies kept in static fields do not pin the class loaders of rejected types.
+    // Canonical keys remain as long as the type is referenced elsewhere, for example by the stubber's type cache.
+    private final Set<Type> rejectedTypes = synchronizedSet(newSetFromMap(new WeakHashMap<>()));
 
     ConditionalStubbingStrategy(StubbingStrategy delegate, Matcher<? super Type> typeMatcher) {
         requireNonNull(delegate, "delegate");
@@ -38,7 +49,27 @@ final class ConditionalStubbingStrategy implements StubbingStrategy {
 
     @Override
     public boolean accepts(StubbingContext context, Type type) {
-        return typeMatcher.matches(context, type) && delegate.accepts(context, type);
+        if (rejectedTypes.contains(type)) {
+            return false;
+        }
+        return typeMatcher.matches(context, type) && delegateAccepts(context, type);
+    }
+
+    private boolean delegateAccepts(StubbingContext context, Type type) {
+        boolean accepts = delegate.accepts(context, type);
+        if (!accepts && !delegate.isContextDependent(type)) {
+            // The delegate will reject the type in any context, there's no need to evaluate the matcher again
+            if (rejectedTypes.size() >= MAX_REJECTED_TYPES) {
+                rejectedTypes.clear();
+            }
+            rejectedTypes.add(canonicalize(type));
+        }
+        return accepts;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return delegate.getAcceptedRawTypes();
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.StubbingContext;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * A size function that returns the same size in any {@link StubbingContext}. Unlike an arbitrary size function, a
+ * constant size allows to determine in advance whether a strategy will accept raw collection types.
+ */
+final class ConstantSize implements ToIntFunction<StubbingContext> {
+
+    private final int size;
+
+    ConstantSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Determines whether raw collection types are accepted with the given {@code size} in any context in which they are
+     * accepted with the given {@code otherSize}, given that raw collection types are only accepted with size zero.
+     */
+    static boolean covers(ToIntFunction<?> size, ToIntFunction<?> otherSize) {
+        return isConstant(size, true) || isConstant(otherSize, false);
+    }
+
+    private static boolean isConstant(ToIntFunction<?> size, boolean zero) {
+        return size instanceof ConstantSize && (((ConstantSize) size).size == 0) == zero;
+    }
+
+    @Override
+    public int applyAsInt(StubbingContext context) {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(size);
+    }
+
+}
@@ -21,10 +21,16 @@ import ch.leadrian.stubr.core.StubbingContext;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
 
+import static ch.leadrian.stubr.core.type.Types.canonicalize;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
-final class ConstantValueStubbingStrategy extends SimpleStubbingStrategy<Object> {
+final class ConstantValueStubbingStrategy extends SimpleStubbingStrategy<Object> implements ExactTypeStubbingStrategy {
 
     private final Type valueType;
     private final Object value;
@@ -32,7 +38,7 @@ final class ConstantValueStubbingStrategy extends SimpleStubbingStrategy<Object>
     ConstantValueStubbingStrategy(Type valueClass, Object value) {
         requireNonNull(valueClass, "valueType");
         requireNonNull(value, "value");
-        this.valueType = valueClass;
+        this.valueType = canonicalize(valueClass);
         this.value = value;
     }
 
@@ -51,6 +57,21 @@ final class ConstantValueStubbingStrategy extends SimpleStubbingStrategy<Object>
         return valueType.equals(type);
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return getRawType(valueType).map(Collections::singleton);
+    }
+
+    @Override
+    public Type getAcceptedType() {
+        return valueType;
+    }
+
     @Override
     protected Object stubClass(StubbingContext context, Class<?> type) {
         return value;
@@ -66,4 +87,12 @@ final class ConstantValueStubbingStrategy extends SimpleStubbingStrategy<Object>
         return value;
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("valueType", valueType)
+                .add("value", value)
+                .toString();
+    }
+
 }
@@ -23,27 +23,30 @@ import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.ConstructorParameterStubbingSite;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
-import static ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.reflect.Modifier.isAbstract;
-import static java.lang.reflect.Modifier.isPrivate;
-import static java.util.Arrays.stream;
 import static java.util.Objects.requireNonNull;
 
 final class ConstructorStubbingStrategy implements StubbingStrategy {
 
     private final Selector<Constructor<?>> constructorSelector;
-    private final Map<Class<?>, Optional<Constructor<?>>> constructorsByClass = new ConcurrentHashMap<>();
+    private final ClassValue<AtomicReference<Optional<Constructor<?>>>> constructorsByClass = new ClassValue<AtomicReference<Optional<Constructor<?>>>>() {
+
+        @Override
+        protected AtomicReference<Optional<Constructor<?>>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
 
     ConstructorStubbingStrategy(Selector<Constructor<?>> constructorSelector) {
         requireNonNull(constructorSelector, "constructorSelector");
@@ -55,6 +58,11 @@ final class ConstructorStubbingStrategy implements StubbingStrategy {
         return getConstructor(context, type).isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         Constructor<?> constructor = getConstructor(context, type)
@@ -64,18 +72,33 @@ final class ConstructorStubbingStrategy implements StubbingStrategy {
     }
 
     private Object invokeConstructor(Constructor<?> constructor, Object[] parameterValues) {
-        constructor.setAccessible(true);
+        MethodHandle invoker;
         try {
-            return constructor.newInstance(parameterValues);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            invoker = ReflectionMetadata.getInvoker(constructor);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        try {
+            return (Object) invoker.invokeExact(parameterValues);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        } catch (ClassCastException | NullPointerException e) {
+            // Exceptions thrown by the constructor itself are wrapped in an InvocationTargetException
+            throw ReflectionMetadata.argumentTypeMismatch(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalStateException(e);
         }
     }
 
     private Object[] stub(StubbingContext context, Constructor<?> constructor) {
-        return stream(constructor.getParameters())
-                .map(parameter -> stub(context, constructor, parameter))
-                .toArray(Object[]::new);
+        Parameter[] parameters = ReflectionMetadata.getParameters(constructor);
+        Object[] parameterValues = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameterValues[i] = stub(context, constructor, parameters[i]);
+        }
+        return parameterValues;
     }
 
     private Object stub(
@@ -102,16 +125,14 @@ final class ConstructorStubbingStrategy implements StubbingStrategy {
     }
 
     private Optional<Constructor<?>> getConstructor(StubbingContext context, Class<?> type) {
-        return constructorsByClass.computeIfAbsent(type, clazz -> {
-            List<Constructor<?>> constructors = getConstructors(clazz);
-            return constructorSelector.select(context, constructors);
-        });
-    }
-
-    private List<Constructor<?>> getConstructors(Class<?> type) {
-        return stream(type.getDeclaredConstructors())
-                .filter(constructor -> !constructor.isSynthetic() && !isPrivate(constructor.getModifiers()))
-                .collect(toImmutableList());
+        AtomicReference<Optional<Constructor<?>>> selectedConstructor = constructorsByClass.get(type);
+        Optional<Constructor<?>> constructor = selectedConstructor.get();
+        if (constructor == null) {
+            List<Constructor<?>> constructors = ReflectionMetadata.of(type).getConstructors();
+            selectedConstructor.compareAndSet(null, constructorSelector.select(context, constructors));
+            constructor = selectedConstructor.get();
+        }
+        return constructor;
     }
 
 }
\ No newline at end of file
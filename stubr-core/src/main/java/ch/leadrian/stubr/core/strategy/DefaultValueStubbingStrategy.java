@@ -19,22 +19,41 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.StubbingStrategy;
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableSet;
 
 import java.lang.reflect.Type;
 import java.util.Optional;
+import java.util.Set;
 
 import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static ch.leadrian.stubr.internal.com.google.common.base.Defaults.defaultValue;
+import static ch.leadrian.stubr.internal.com.google.common.primitives.Primitives.allPrimitiveTypes;
+import static ch.leadrian.stubr.internal.com.google.common.primitives.Primitives.allWrapperTypes;
 import static ch.leadrian.stubr.internal.com.google.common.primitives.Primitives.unwrap;
 
 enum DefaultValueStubbingStrategy implements StubbingStrategy {
     INSTANCE;
 
+    private static final Set<Class<?>> ACCEPTED_RAW_TYPES = ImmutableSet.<Class<?>>builder()
+            .addAll(allPrimitiveTypes())
+            .addAll(allWrapperTypes())
+            .build();
+
     @Override
     public boolean accepts(StubbingContext context, Type type) {
         return getDefaultValue(type).isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.of(ACCEPTED_RAW_TYPES);
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         return getDefaultValue(type).orElseThrow(() -> new StubbingException(context.getSite(), type));
@@ -16,7 +16,6 @@
 
 package ch.leadrian.stubr.core.strategy;
 
-import ch.leadrian.stubr.core.Result;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.StubbingStrategy;
@@ -28,7 +27,7 @@ import java.lang.reflect.Type;
  * and then only perform enhancing operations on the stub value.
  *
  * @see StubbingContext#hasResult()
- * @see StubbingContext#result()
+ * @see StubbingContext#stub()
  */
 public abstract class EnhancingStubbingStrategy implements StubbingStrategy {
 
@@ -40,17 +39,29 @@ public abstract class EnhancingStubbingStrategy implements StubbingStrategy {
         return context.getNext().filter(StubbingContext::hasResult).isPresent();
     }
 
+    /**
+     * Enhancing strategies always depend on the {@link StubbingContext}, since they can only provide a stub value if
+     * {@link StubbingContext#getNext()} can provide one.
+     *
+     * @param type type for which a stub value is requested
+     * @return {@code true}
+     */
+    @Override
+    public final boolean isContextDependent(Type type) {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public final Object stub(StubbingContext context, Type type) {
-        Result<?> result = context.getNext().map(StubbingContext::result).orElse(Result.failure());
-        if (result.isFailure()) {
+        StubbingContext next = context.getNext().orElse(null);
+        if (next == null || !next.hasResult()) {
             throw new StubbingException(context.getSite(), type);
         }
 
-        Object stubValue = result.getValue();
+        Object stubValue = next.stub();
         return enhance(context, type, stubValue);
     }
 
@@ -22,10 +22,12 @@ import ch.leadrian.stubr.core.StubbingException;
 
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Optional;
 
 import static ch.leadrian.stubr.core.selector.Selectors.first;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static java.util.Arrays.stream;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -56,6 +58,13 @@ final class EnumValueStubbingStrategy extends SimpleStubbingStrategy<Object> {
         return false;
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return getRawType(type)
+                .filter(Class::isEnum)
+                .isPresent();
+    }
+
     @Override
     protected Object stubClass(StubbingContext context, Class<?> type) {
         return selectValue(context, type).orElseThrow(() -> new StubbingException(context.getSite(), type));
@@ -13,29 +13,23 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+package ch.leadrian.stubr.core.strategy;
 
-package ch.leadrian.stubr.core;
-
-import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList;
+import ch.leadrian.stubr.core.StubbingStrategy;
 
 import java.lang.reflect.Type;
-import java.util.List;
-import java.util.stream.Stream;
-
-import static java.util.Objects.requireNonNull;
-
-final class CompositeStubber extends Stubber {
 
-    private final List<Stubber> stubbers;
+/**
+ * A {@link StubbingStrategy} that accepts exactly one {@link Type} and types that are bound to it by a wildcard.
+ */
+interface ExactTypeStubbingStrategy extends StubbingStrategy {
 
-    CompositeStubber(List<? extends Stubber> stubbers) {
-        requireNonNull(stubbers, "stubbers");
-        this.stubbers = ImmutableList.copyOf(stubbers);
-    }
+    Type getAcceptedType();
 
     @Override
-    Stream<StubbingContext> newContextStream(Stubber rootStubber, StubbingSite site, Type type) {
-        return stubbers.stream().flatMap(stubber -> stubber.newContextStream(rootStubber, site, type));
+    default boolean shadows(StubbingStrategy other) {
+        return other instanceof ExactTypeStubbingStrategy
+                && getAcceptedType().equals(((ExactTypeStubbingStrategy) other).getAcceptedType());
     }
 
 }
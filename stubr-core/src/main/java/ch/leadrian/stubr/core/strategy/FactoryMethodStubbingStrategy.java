@@ -24,22 +24,23 @@ import ch.leadrian.stubr.core.StubbingStrategy;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static ch.leadrian.stubr.core.strategy.Methods.invokeStaticMethodWithStubValues;
 import static ch.leadrian.stubr.core.type.Types.getRawType;
-import static java.lang.reflect.Modifier.isPrivate;
-import static java.lang.reflect.Modifier.isStatic;
-import static java.util.Arrays.stream;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 final class FactoryMethodStubbingStrategy implements StubbingStrategy {
 
     private final Selector<Method> methodSelector;
-    private final Map<Class<?>, Optional<Method>> factoryMethodsByClass = new ConcurrentHashMap<>();
+    private final ClassValue<AtomicReference<Optional<Method>>> factoryMethodsByClass = new ClassValue<AtomicReference<Optional<Method>>>() {
+
+        @Override
+        protected AtomicReference<Optional<Method>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
 
     FactoryMethodStubbingStrategy(Selector<Method> methodSelector) {
         requireNonNull(methodSelector, "methodSelector");
@@ -51,6 +52,11 @@ final class FactoryMethodStubbingStrategy implements StubbingStrategy {
         return getFactoryMethod(context, type).isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         Method method = getFactoryMethod(context, type)
@@ -71,23 +77,14 @@ final class FactoryMethodStubbingStrategy implements StubbingStrategy {
     }
 
     private Optional<Method> getFactoryMethod(StubbingContext context, Class<?> targetClass) {
-        return factoryMethodsByClass.computeIfAbsent(targetClass, c -> {
-            List<Method> methods = getFactoryMethods(targetClass);
-            return methodSelector.select(context, methods);
-        });
-    }
-
-    private List<Method> getFactoryMethods(Class<?> targetClass) {
-        return stream(targetClass.getDeclaredMethods())
-                .filter(method -> !method.isSynthetic() && !isPrivate(method.getModifiers()) && isStatic(method.getModifiers()))
-                .filter(method -> canReturn(method, targetClass))
-                .collect(toList());
-    }
-
-    private boolean canReturn(Method method, Class<?> type) {
-        return getRawType(method.getGenericReturnType())
-                .filter(clazz -> clazz.isAssignableFrom(type))
-                .isPresent();
+        AtomicReference<Optional<Method>> selectedFactoryMethod = factoryMethodsByClass.get(targetClass);
+        Optional<Method> factoryMethod = selectedFactoryMethod.get();
+        if (factoryMethod == null) {
+            List<Method> methods = ReflectionMetadata.of(targetClass).getFactoryMethods();
+            selectedFactoryMethod.compareAndSet(null, methodSelector.select(context, methods));
+            factoryMethod = selectedFactoryMethod.get();
+        }
+        return factoryMethod;
     }
 
 }
\ No newline at end of file
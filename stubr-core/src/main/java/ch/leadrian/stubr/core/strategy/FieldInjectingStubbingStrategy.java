@@ -20,15 +20,14 @@ import ch.leadrian.stubr.core.Matcher;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.site.InjectedFieldStubbingSite;
+import ch.leadrian.stubr.core.strategy.ReflectionMetadata.InjectableField;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.util.List;
 
 import static ch.leadrian.stubr.core.site.StubbingSites.injectedField;
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
-import static ch.leadrian.stubr.core.type.Types.visitTypeHierarchy;
-import static java.lang.reflect.Modifier.isFinal;
-import static java.lang.reflect.Modifier.isStatic;
 import static java.util.Objects.requireNonNull;
 
 final class FieldInjectingStubbingStrategy extends EnhancingStubbingStrategy {
@@ -46,37 +45,27 @@ final class FieldInjectingStubbingStrategy extends EnhancingStubbingStrategy {
             return null;
         }
 
-        visitTypeHierarchy(stubValue.getClass(), t -> injectFields(context, stubValue, t));
-        return stubValue;
-    }
-
-    private void injectFields(StubbingContext context, Object stubValue, Class<?> type) {
-        if (type.isInterface()) {
-            return;
-        }
-
-        for (Field field : type.getDeclaredFields()) {
-            int modifiers = field.getModifiers();
-            if (isStatic(modifiers) || isFinal(modifiers) || field.isSynthetic()) {
-                continue;
-            }
-
-            field.setAccessible(true);
-            if (matcher.matches(context, field)) {
+        for (InjectableField field : getInjectableFields(stubValue.getClass())) {
+            if (matcher.matches(context, field.getField())) {
                 injectField(context, stubValue, field);
             }
         }
+        return stubValue;
     }
 
-    private void injectField(StubbingContext context, Object stubValue, Field field) {
-        InjectedFieldStubbingSite site = injectedField(context.getSite(), field);
-        Type fieldType = trimWildcard(context.getTypeResolver().resolve(field.getGenericType()));
-        Object fieldValue = context.getStubber().stub(fieldType, site);
+    private List<InjectableField> getInjectableFields(Class<?> type) {
         try {
-            field.set(stubValue, fieldValue);
+            return ReflectionMetadata.of(type).getInjectableFields();
         } catch (IllegalAccessException e) {
             throw new StubbingException(e);
         }
     }
 
+    private void injectField(StubbingContext context, Object stubValue, InjectableField field) {
+        InjectedFieldStubbingSite site = injectedField(context.getSite(), field.getField());
+        Type fieldType = trimWildcard(context.getTypeResolver().resolve(field.getField().getGenericType()));
+        Object fieldValue = context.getStubber().stub(fieldType, site);
+        field.set(stubValue, fieldValue);
+    }
+
 }
@@ -21,10 +21,16 @@ import ch.leadrian.stubr.core.StubbingContext;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
 
+import static ch.leadrian.stubr.core.type.Types.canonicalize;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
-final class ImplementationStubbingStrategy extends SimpleStubbingStrategy<Object> {
+final class ImplementationStubbingStrategy extends SimpleStubbingStrategy<Object> implements ExactTypeStubbingStrategy {
 
     private final Type targetType;
     private final Type implementationType;
@@ -32,8 +38,8 @@ final class ImplementationStubbingStrategy extends SimpleStubbingStrategy<Object
     ImplementationStubbingStrategy(Type targetType, Type implementationType) {
         requireNonNull(targetType, "targetType");
         requireNonNull(implementationType, "implementationType");
-        this.targetType = targetType;
-        this.implementationType = implementationType;
+        this.targetType = canonicalize(targetType);
+        this.implementationType = canonicalize(implementationType);
     }
 
     @Override
@@ -51,6 +57,21 @@ final class ImplementationStubbingStrategy extends SimpleStubbingStrategy<Object
         return targetType.equals(type);
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return getRawType(targetType).map(Collections::singleton);
+    }
+
+    @Override
+    public Type getAcceptedType() {
+        return targetType;
+    }
+
     @Override
     protected Object stubClass(StubbingContext context, Class<?> type) {
         return stub(context);
@@ -70,4 +91,12 @@ final class ImplementationStubbingStrategy extends SimpleStubbingStrategy<Object
         return context.getStubber().stub(implementationType, context.getSite());
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("targetType", targetType)
+                .add("implementationType", implementationType)
+                .toString();
+    }
+
 }
@@ -19,6 +19,7 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.StubbingSite;
+import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
 import java.lang.reflect.GenericArrayType;
@@ -27,12 +28,17 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.stream.IntStream;
 
+import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
 
 final class MapStubbingStrategy<T extends Map> extends SimpleStubbingStrategy<T> {
@@ -65,6 +71,27 @@ final class MapStubbingStrategy<T extends Map> extends SimpleStubbingStrategy<T>
         return false;
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return getRawType(type)
+                .filter(mapClass::equals)
+                .isPresent();
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.of(singleton(mapClass));
+    }
+
+    @Override
+    public boolean shadows(StubbingStrategy other) {
+        if (!(other instanceof MapStubbingStrategy)) {
+            return false;
+        }
+        MapStubbingStrategy<?> otherStrategy = (MapStubbingStrategy<?>) other;
+        return mapClass == otherStrategy.mapClass && ConstantSize.covers(mapSize, otherStrategy.mapSize);
+    }
+
     @Override
     protected T stubClass(StubbingContext context, Class<?> type) {
         return mapFactory.apply(emptyMap());
@@ -94,4 +121,12 @@ final class MapStubbingStrategy<T extends Map> extends SimpleStubbingStrategy<T>
         throw new StubbingException(context.getSite(), type);
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("mapClass", mapClass)
+                .add("mapSize", mapSize)
+                .toString();
+    }
+
 }
@@ -22,7 +22,10 @@ import ch.leadrian.stubr.core.StubbingStrategy;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import static ch.leadrian.stubr.core.type.Types.canonicalize;
 import static java.util.Objects.requireNonNull;
 
 final class MemoizingStubbingStrategy implements StubbingStrategy {
@@ -40,12 +43,27 @@ final class MemoizingStubbingStrategy implements StubbingStrategy {
         return delegate.accepts(context, type);
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return delegate.isContextDependent(type);
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return delegate.getAcceptedRawTypes();
+    }
+
+    @Override
+    public boolean shadows(StubbingStrategy other) {
+        return delegate.shadows(other);
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         Object value = memoizedStubsByType.get(type);
         if (value == null) {
             value = delegate.stub(context, type);
-            memoizedStubsByType.put(type, value);
+            memoizedStubsByType.put(canonicalize(type), value);
         }
         return value;
     }
@@ -21,6 +21,7 @@ import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.site.MethodParameterStubbingSite;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -28,7 +29,6 @@ import java.lang.reflect.Type;
 
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
 import static java.lang.reflect.Modifier.isStatic;
-import static java.util.Arrays.stream;
 
 final class Methods {
 
@@ -50,9 +50,12 @@ final class Methods {
     }
 
     private static Object[] stubParameterValues(StubbingContext context, Method method) {
-        return stream(method.getParameters())
-                .map(parameter -> stubParameterValue(context, method, parameter))
-                .toArray(Object[]::new);
+        Parameter[] parameters = ReflectionMetadata.getParameters(method);
+        Object[] parameterValues = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameterValues[i] = stubParameterValue(context, method, parameters[i]);
+        }
+        return parameterValues;
     }
 
     private static Object stubParameterValue(StubbingContext context, Method method, Parameter parameter) {
@@ -62,10 +65,22 @@ final class Methods {
     }
 
     private static Object invokeMethod(Method method, Object[] parameterValues, Object receiver) {
-        method.setAccessible(true);
+        MethodHandle invoker;
         try {
-            return method.invoke(receiver, parameterValues);
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            invoker = ReflectionMetadata.getInvoker(method);
+        } catch (IllegalAccessException e) {
+            throw new StubbingException(e);
+        }
+        try {
+            return (Object) invoker.invokeExact(receiver, parameterValues);
+        } catch (InvocationTargetException e) {
+            throw new StubbingException(e);
+        } catch (ClassCastException | NullPointerException e) {
+            // Exceptions thrown by the method itself are wrapped in an InvocationTargetException
+            throw ReflectionMetadata.argumentTypeMismatch(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new StubbingException(e);
         }
     }
@@ -33,6 +33,11 @@ enum NullValueStubbingStrategy implements StubbingStrategy {
                 .isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         return null;
@@ -20,14 +20,18 @@ import ch.leadrian.stubr.core.Result;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
 import ch.leadrian.stubr.core.StubbingSite;
+import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.StubbingSites;
 
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Optional;
+import java.util.Set;
 
 import static ch.leadrian.stubr.core.type.Types.trimWildcard;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Collections.singleton;
 
 abstract class OptionalStubbingStrategy extends SimpleStubbingStrategy<Optional<Object>> {
 
@@ -53,6 +57,24 @@ abstract class OptionalStubbingStrategy extends SimpleStubbingStrategy<Optional<
         return false;
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.of(singleton(Optional.class));
+    }
+
+    @Override
+    public boolean shadows(StubbingStrategy other) {
+        if (!(other instanceof OptionalStubbingStrategy)) {
+            return false;
+        }
+        return isEmptyAllowed() || !((OptionalStubbingStrategy) other).isEmptyAllowed();
+    }
+
     @Override
     protected Optional<Object> stubClass(StubbingContext context, Class<?> type) {
         return Optional.empty();
@@ -68,6 +90,13 @@ abstract class OptionalStubbingStrategy extends SimpleStubbingStrategy<Optional<
         throw new StubbingException(context.getSite(), type);
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("emptyAllowed", isEmptyAllowed())
+                .toString();
+    }
+
     protected abstract Optional<Object> stubOptional(StubbingContext context, ParameterizedType type);
 
     protected abstract boolean isEmptyAllowed();
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.type.TypeResolver;
+import ch.leadrian.stubr.internal.com.google.common.base.StandardSystemProperty;
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableMap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ch.leadrian.stubr.core.type.Types.trimWildcard;
+import static java.lang.Float.parseFloat;
+import static java.lang.invoke.MethodHandles.Lookup.PACKAGE;
+import static java.lang.invoke.MethodHandles.Lookup.PRIVATE;
+import static java.lang.invoke.MethodHandles.Lookup.PROTECTED;
+import static java.lang.invoke.MethodHandles.Lookup.PUBLIC;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * Dispatch table of a stub proxy for a specific interface.
+ * <p>
+ * Each method that may be invoked on a proxy of an interface is assigned an ordinal once per interface, as well as the
+ * action that is performed when the method is invoked. Generic return types are resolved by the invocation handler of
+ * each proxy, the table itself does not depend on any parameterization of the interface.
+ */
+final class ProxyDispatchTable {
+
+    private static final ClassValue<ProxyDispatchTable> TABLES = new ClassValue<ProxyDispatchTable>() {
+
+        @Override
+        protected ProxyDispatchTable computeValue(Class<?> type) {
+            return new ProxyDispatchTable(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<Method, Integer> ordinals;
+    private final MethodDispatch[] dispatches;
+    private final String toStringPrefix;
+
+    private ProxyDispatchTable(Class<?> type) {
+        this.type = type;
+        this.ordinals = getOrdinals(type);
+        this.dispatches = new MethodDispatch[ordinals.size()];
+        this.toStringPrefix = String.format("Stubbed %s (", type.getName());
+        ordinals.forEach((method, ordinal) -> dispatches[ordinal] = newMethodDispatch(method, ordinal));
+    }
+
+    /**
+     * Returns the dispatch table for proxies of the given interface {@code type}.
+     */
+    static ProxyDispatchTable of(Class<?> type) {
+        return TABLES.get(type);
+    }
+
+    private static Map<Method, Integer> getOrdinals(Class<?> type) {
+        // Proxies dispatch hashCode, equals and toString with the methods declared by Object
+        Map<Method, Integer> ordinals = new LinkedHashMap<>();
+        for (Method method : Object.class.getMethods()) {
+            if (isHashCodeMethod(method) || isEqualsMethod(method) || isToStringMethod(method)) {
+                ordinals.putIfAbsent(method, ordinals.size());
+            }
+        }
+        for (Method method : type.getMethods()) {
+            // Static interface methods can never be invoked on a proxy
+            if (!isStatic(method.getModifiers())) {
+                ordinals.putIfAbsent(method, ordinals.size());
+            }
+        }
+        return ImmutableMap.copyOf(ordinals);
+    }
+
+    private static MethodDispatch newMethodDispatch(Method method, int ordinal) {
+        if (method.isDefault()) {
+            return new MethodDispatch(method, ordinal, Action.INVOKE_DEFAULT_METHOD, null);
+        }
+        if (isHashCodeMethod(method)) {
+            return new MethodDispatch(method, ordinal, Action.IDENTITY_HASH_CODE, null);
+        }
+        if (isEqualsMethod(method)) {
+            return new MethodDispatch(method, ordinal, Action.IDENTITY_EQUALS, null);
+        }
+        if (isToStringMethod(method)) {
+            return new MethodDispatch(method, ordinal, Action.TO_STRING, null);
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class || returnType == Void.class) {
+            return new MethodDispatch(method, ordinal, Action.RETURN_NULL, null);
+        }
+        return new MethodDispatch(method, ordinal, Action.STUB_RETURN_VALUE, method.getGenericReturnType());
+    }
+
+    private static boolean isHashCodeMethod(Method method) {
+        return "hashCode".equals(method.getName()) && method.getParameterCount() == 0;
+    }
+
+    private static boolean isEqualsMethod(Method method) {
+        return "equals".equals(method.getName()) && method.getParameterCount() == 1 && method.getParameterTypes()[0] == Object.class;
+    }
+
+    private static boolean isToStringMethod(Method method) {
+        return "toString".equals(method.getName()) && method.getParameterCount() == 0;
+    }
+
+    /**
+     * @return the interface implemented by the proxies
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the number of methods that may be invoked on a proxy
+     */
+    int size() {
+        return dispatches.length;
+    }
+
+    /**
+     * Returns the ordinal of the given {@code method}, which is used to look up its {@link MethodDispatch}.
+     */
+    int getOrdinal(Method method) {
+        Integer ordinal = ordinals.get(method);
+        if (ordinal == null) {
+            throw new IllegalArgumentException(String.format("%s cannot be invoked on a proxy of %s", method, type.getName()));
+        }
+        return ordinal;
+    }
+
+    MethodDispatch getDispatch(int ordinal) {
+        return dispatches[ordinal];
+    }
+
+    String toString(Object proxy) {
+        return toStringPrefix + proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy)) + ")";
+    }
+
+    enum Action {
+        INVOKE_DEFAULT_METHOD,
+        IDENTITY_HASH_CODE,
+        IDENTITY_EQUALS,
+        TO_STRING,
+        RETURN_NULL,
+        STUB_RETURN_VALUE
+    }
+
+    /**
+     * The precomputed action that is performed when a method is invoked on a proxy.
+     */
+    static final class MethodDispatch {
+
+        private static final Object[] NO_ARGUMENTS = new Object[0];
+
+        private final Method method;
+        private final int ordinal;
+        private final Action action;
+        private final Type returnType;
+        private final boolean hasGenericReturnType;
+        private volatile MethodHandle defaultMethodInvoker;
+
+        private MethodDispatch(Method method, int ordinal, Action action, Type returnType) {
+            this.method = method;
+            this.ordinal = ordinal;
+            this.action = action;
+            this.returnType = returnType;
+            this.hasGenericReturnType = !(returnType instanceof Class);
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        int getOrdinal() {
+            return ordinal;
+        }
+
+        Action getAction() {
+            return action;
+        }
+
+        /**
+         * Returns the return type if the action is {@link Action#STUB_RETURN_VALUE}, resolved with the given {@code
+         * typeResolver} if it is generic.
+         */
+        Type getReturnType(TypeResolver typeResolver) {
+            return hasGenericReturnType ? trimWildcard(typeResolver.resolve(returnType)) : returnType;
+        }
+
+        /**
+         * Invokes the default method if the action is {@link Action#INVOKE_DEFAULT_METHOD}, using the given {@code
+         * proxy} as receiver.
+         */
+        Object invokeDefaultMethod(Object proxy, Object[] args) throws Throwable {
+            MethodHandle invoker = defaultMethodInvoker;
+            if (invoker == null) {
+                invoker = DefaultMethodInvokers.get(method);
+                defaultMethodInvoker = invoker;
+            }
+            // Proxies pass null instead of an empty array
+            Object[] arguments = args != null ? args : NO_ARGUMENTS;
+            return (Object) invoker.invokeExact(proxy, arguments);
+        }
+
+    }
+
+    /**
+     * Resolves unbound special method handles for default methods once per method.
+     */
+    private enum DefaultMethodInvokers {
+        JAVA_8 {
+            @Override
+            MethodHandle findSpecial(Method method) throws ReflectiveOperationException {
+                Class<?> declaringClass = method.getDeclaringClass();
+                Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+                constructor.setAccessible(true);
+                MethodHandles.Lookup lookup = constructor.newInstance(declaringClass, PUBLIC | PROTECTED | PACKAGE | PRIVATE);
+                return lookup.unreflectSpecial(method, declaringClass);
+            }
+        },
+        JAVA_9_PLUS {
+            @Override
+            MethodHandle findSpecial(Method method) throws ReflectiveOperationException {
+                return MethodHandles.lookup().findSpecial(
+                        method.getDeclaringClass(),
+                        method.getName(),
+                        methodType(method.getReturnType(), method.getParameterTypes()),
+                        method.getDeclaringClass()
+                );
+            }
+        };
+
+        private static final DefaultMethodInvokers INSTANCE;
+        private static final MethodType INVOKER_TYPE = methodType(Object.class, Object.class, Object[].class);
+        private static final ClassValue<Map<Method, MethodHandle>> INVOKERS = new ClassValue<Map<Method, MethodHandle>>() {
+
+            @Override
+            protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        static {
+            float version = parseFloat(System.getProperty(StandardSystemProperty.JAVA_CLASS_VERSION.key()));
+            boolean isJava8 = version <= 52;
+            INSTANCE = isJava8 ? JAVA_8 : JAVA_9_PLUS;
+        }
+
+        /**
+         * Returns a method handle of type {@code (Object, Object[])Object} that invokes the given default method on
+         * the proxy passed as first argument.
+         */
+        static MethodHandle get(Method method) throws ReflectiveOperationException {
+            Map<Method, MethodHandle> invokers = INVOKERS.get(method.getDeclaringClass());
+            MethodHandle invoker = invokers.get(method);
+            if (invoker == null) {
+                invoker = INSTANCE.findSpecial(method)
+                        .asFixedArity()
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(INVOKER_TYPE);
+                invokers.putIfAbsent(method, invoker);
+            }
+            return invoker;
+        }
+
+        abstract MethodHandle findSpecial(Method method) throws ReflectiveOperationException;
+
+    }
+
+}
@@ -18,10 +18,13 @@ package ch.leadrian.stubr.core.strategy;
 
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingException;
+import ch.leadrian.stubr.core.StubbingSite;
 import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.site.StubbingSites;
-import ch.leadrian.stubr.internal.com.google.common.base.StandardSystemProperty;
+import ch.leadrian.stubr.core.strategy.ProxyDispatchTable.Action;
+import ch.leadrian.stubr.core.strategy.ProxyDispatchTable.MethodDispatch;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
@@ -29,26 +32,62 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static ch.leadrian.stubr.core.type.Types.getRawType;
-import static ch.leadrian.stubr.core.type.Types.trimWildcard;
-import static java.lang.Float.parseFloat;
-import static java.lang.invoke.MethodHandles.Lookup.PACKAGE;
-import static java.lang.invoke.MethodHandles.Lookup.PRIVATE;
-import static java.lang.invoke.MethodHandles.Lookup.PROTECTED;
-import static java.lang.invoke.MethodHandles.Lookup.PUBLIC;
 
 enum ProxyStubbingStrategy implements StubbingStrategy {
-    CACHING(true),
-    NON_CACHING(false);
+    CACHING {
+        @Override
+        InvocationHandler newInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            return new CachingInvocationHandler(context, dispatchTable);
+        }
+    },
+    NON_CACHING {
+        @Override
+        InvocationHandler newInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            return new SimpleInvocationHandler(context, dispatchTable);
+        }
+    },
+    EAGER {
+        @Override
+        InvocationHandler newInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            Set<Class<?>> types = EAGERLY_STUBBED_TYPES.get();
+            if (!types.add(dispatchTable.getType())) {
+                // The interface returns itself, providing its return values eagerly would never end
+                return new CachingInvocationHandler(context, dispatchTable);
+            }
+            try {
+                return new EagerInvocationHandler(context, dispatchTable);
+            } finally {
+                types.remove(dispatchTable.getType());
+            }
+        }
+    };
 
-    private final boolean cacheStubs;
+    private static final ThreadLocal<Set<Class<?>>> EAGERLY_STUBBED_TYPES = ThreadLocal.withInitial(HashSet::new);
 
-    ProxyStubbingStrategy(boolean cacheStubs) {
-        this.cacheStubs = cacheStubs;
-    }
+    private static final MethodType PROXY_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+
+    private static final ClassValue<MethodHandle> PROXY_CONSTRUCTORS = new ClassValue<MethodHandle>() {
+
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            // Proxy classes are cached by the JDK as well, but looking them up requires validating the interfaces
+            Class<?> proxyClass = Proxy.getProxyClass(type.getClassLoader(), type);
+            try {
+                Constructor<?> constructor = proxyClass.getConstructor(InvocationHandler.class);
+                constructor.setAccessible(true);
+                return MethodHandles.lookup()
+                        .unreflectConstructor(constructor)
+                        .asType(PROXY_CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
 
     @Override
     public boolean accepts(StubbingContext context, Type type) {
@@ -57,139 +96,176 @@ enum ProxyStubbingStrategy implements StubbingStrategy {
                 .isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
     @Override
     public Object stub(StubbingContext context, Type type) {
         return getRawType(type)
-                .map(clazz -> createProxy(clazz, getInvocationHandler(context, clazz)))
+                .map(clazz -> createProxy(clazz, newInvocationHandler(context, ProxyDispatchTable.of(clazz))))
                 .orElseThrow(() -> new StubbingException(context.getSite(), type));
     }
 
-    private InvocationHandler getInvocationHandler(StubbingContext context, Class<?> type) {
-        return cacheStubs ? new CachingInvocationHandler(context, type) : new SimpleInvocationHandler(context, type);
-    }
+    abstract InvocationHandler newInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable);
 
     private Object createProxy(Class<?> clazz, InvocationHandler invocationHandler) {
-        return Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, invocationHandler);
+        MethodHandle constructor = PROXY_CONSTRUCTORS.get(clazz);
+        try {
+            return (Object) constructor.invokeExact(invocationHandler);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private static abstract class StubbingInvocationHandler implements InvocationHandler {
 
-        private static final InvocationHandler DEFAULT_METHOD_INVOCATION_HANDLER;
-
-        static {
-            float version = parseFloat(System.getProperty(StandardSystemProperty.JAVA_CLASS_VERSION.key()));
-            boolean isJava8 = version <= 52;
-            DEFAULT_METHOD_INVOCATION_HANDLER = isJava8 ? Java8DefaultMethodInvocationHandler.INSTANCE : Java9PlusDefaultMethodInvocationHandler.INSTANCE;
-        }
-
         private final StubbingContext context;
-        private final Class<?> type;
+        private final ProxyDispatchTable dispatchTable;
 
-        StubbingInvocationHandler(StubbingContext context, Class<?> type) {
+        StubbingInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
             this.context = context;
-            this.type = type;
+            this.dispatchTable = dispatchTable;
         }
 
         @Override
         public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            if (method.isDefault()) {
-                return DEFAULT_METHOD_INVOCATION_HANDLER.invoke(proxy, method, args);
-            }
-            if (isHashCodeMethod(method)) {
-                return System.identityHashCode(proxy);
+            MethodDispatch dispatch = dispatchTable.getDispatch(dispatchTable.getOrdinal(method));
+            switch (dispatch.getAction()) {
+                case INVOKE_DEFAULT_METHOD:
+                    return dispatch.invokeDefaultMethod(proxy, args);
+                case IDENTITY_HASH_CODE:
+                    return System.identityHashCode(proxy);
+                case IDENTITY_EQUALS:
+                    return proxy == args[0];
+                case TO_STRING:
+                    return dispatchTable.toString(proxy);
+                case RETURN_NULL:
+                    return null;
+                default:
+                    return getReturnValue(dispatch);
             }
-            if (isEqualsMethod(method)) {
-                return proxy == args[0];
-            }
-            if (isToStringMethod(method)) {
-                return String.format("Stubbed %s (%s@%s)", type.getName(), proxy.getClass().getName(), Integer.toHexString(System.identityHashCode(proxy)));
-            }
-            return getReturnValue(method);
         }
 
-        private boolean isHashCodeMethod(Method method) {
-            return "hashCode".equals(method.getName()) && method.getParameterCount() == 0;
-        }
-
-        private boolean isEqualsMethod(Method method) {
-            return "equals".equals(method.getName()) && method.getParameterCount() == 1 && method.getParameterTypes()[0] == Object.class;
-        }
-
-        private boolean isToStringMethod(Method method) {
-            return "toString".equals(method.getName()) && method.getParameterCount() == 0;
-        }
-
-        protected final Object stub(Method method) {
-            Type returnType = trimWildcard(context.getTypeResolver().resolve(method.getGenericReturnType()));
-            if (returnType == void.class || returnType == Void.class) {
+        protected final Object stub(MethodDispatch dispatch) {
+            Type returnType = dispatch.getReturnType(context.getTypeResolver());
+            if (returnType == Void.class) {
+                // A type variable may be resolved to Void
                 return null;
             }
-            return context.getStubber().stub(returnType, StubbingSites.methodReturnValue(context.getSite(), method));
+            StubbingSite site = StubbingSites.methodReturnValue(context.getSite(), dispatch.getMethod());
+            return context.getStubber().stub(returnType, site);
         }
 
-        protected abstract Object getReturnValue(Method method);
+        protected abstract Object getReturnValue(MethodDispatch dispatch);
 
     }
 
     private static final class SimpleInvocationHandler extends StubbingInvocationHandler {
 
-        SimpleInvocationHandler(StubbingContext context, Class<?> type) {
-            super(context, type);
+        SimpleInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            super(context, dispatchTable);
         }
 
         @Override
-        protected Object getReturnValue(Method method) {
-            return stub(method);
+        protected Object getReturnValue(MethodDispatch dispatch) {
+            return stub(dispatch);
         }
 
     }
 
     private static final class CachingInvocationHandler extends StubbingInvocationHandler {
 
-        private final Map<Method, Object> stubbedValues = new ConcurrentHashMap<>();
+        private static final Object NULL_VALUE = new Object();
+
+        private final AtomicReferenceArray<Object> stubbedValues;
 
-        CachingInvocationHandler(StubbingContext context, Class<?> type) {
-            super(context, type);
+        CachingInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            super(context, dispatchTable);
+            this.stubbedValues = new AtomicReferenceArray<>(dispatchTable.size());
         }
 
         @Override
-        protected Object getReturnValue(Method method) {
-            return stubbedValues.computeIfAbsent(method, this::stub);
+        protected Object getReturnValue(MethodDispatch dispatch) {
+            int ordinal = dispatch.getOrdinal();
+            Object value = stubbedValues.get(ordinal);
+            if (value == null || value instanceof InProgress) {
+                value = stubValue(ordinal, dispatch);
+            }
+            return value != NULL_VALUE ? value : null;
         }
 
-    }
+        private Object stubValue(int ordinal, MethodDispatch dispatch) {
+            InProgress inProgress = new InProgress();
+            Object currentValue = stubbedValues.get(ordinal);
+            while (currentValue == null && !stubbedValues.compareAndSet(ordinal, null, inProgress)) {
+                currentValue = stubbedValues.get(ordinal);
+            }
+            if (currentValue instanceof InProgress && ((InProgress) currentValue).isOwnedByCurrentThread()) {
+                throw new IllegalStateException(
+                        "Recursive invocation of " + dispatch.getMethod() + " while stubbing its return value");
+            } else if (currentValue != null && !(currentValue instanceof InProgress)) {
+                return currentValue;
+            }
+            // Not locking, since stubbing the value may invoke other methods of the same proxy.
+            // If another thread is already stubbing the value, the value that is stored first is used by both threads.
+            Object value;
+            try {
+                value = stub(dispatch);
+            } catch (RuntimeException | Error e) {
+                stubbedValues.compareAndSet(ordinal, inProgress, null);
+                throw e;
+            }
+            return storeValue(ordinal, value != null ? value : NULL_VALUE);
+        }
 
-    private enum Java8DefaultMethodInvocationHandler implements InvocationHandler {
-        INSTANCE;
+        private Object storeValue(int ordinal, Object value) {
+            while (true) {
+                Object currentValue = stubbedValues.get(ordinal);
+                if (currentValue != null && !(currentValue instanceof InProgress)) {
+                    return currentValue;
+                }
+                if (stubbedValues.compareAndSet(ordinal, currentValue, value)) {
+                    return value;
+                }
+            }
+        }
+
+        private static final class InProgress {
+
+            private final Thread thread = Thread.currentThread();
+
+            boolean isOwnedByCurrentThread() {
+                return thread == Thread.currentThread();
+            }
 
-        @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            Class<?> declaringClass = method.getDeclaringClass();
-            Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
-            constructor.setAccessible(true);
-            MethodHandles.Lookup lookup = constructor.newInstance(declaringClass, PUBLIC | PROTECTED | PACKAGE | PRIVATE);
-            return lookup
-                    .unreflectSpecial(method, declaringClass)
-                    .bindTo(proxy)
-                    .invokeWithArguments(args);
         }
+
     }
 
-    private enum Java9PlusDefaultMethodInvocationHandler implements InvocationHandler {
-        INSTANCE;
+    private static final class EagerInvocationHandler extends StubbingInvocationHandler {
+
+        private final Object[] stubbedValues;
+
+        EagerInvocationHandler(StubbingContext context, ProxyDispatchTable dispatchTable) {
+            super(context, dispatchTable);
+            this.stubbedValues = new Object[dispatchTable.size()];
+            for (int ordinal = 0; ordinal < stubbedValues.length; ordinal++) {
+                MethodDispatch dispatch = dispatchTable.getDispatch(ordinal);
+                if (dispatch.getAction() == Action.STUB_RETURN_VALUE) {
+                    stubbedValues[ordinal] = stub(dispatch);
+                }
+            }
+        }
 
         @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            return MethodHandles.lookup()
-                    .findSpecial(
-                            method.getDeclaringClass(),
-                            method.getName(),
-                            MethodType.methodType(method.getReturnType(), new Class[0]),
-                            method.getDeclaringClass()
-                    )
-                    .bindTo(proxy)
-                    .invokeWithArguments(args);
+        protected Object getReturnValue(MethodDispatch dispatch) {
+            return stubbedValues[dispatch.getOrdinal()];
         }
+
     }
 
 }
@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.equalizer.EqualsAndHashCode;
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableList;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ch.leadrian.equalizer.Equalizer.equalsAndHashCodeBuilder;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.core.type.Types.visitTypeHierarchy;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isPrivate;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Arrays.asList;
+
+/**
+ * Reflection metadata of a class that is shared by all stubbing strategies.
+ * <p>
+ * The metadata is computed lazily and at most once per class. Constructors, methods and field setters are compiled
+ * into {@link MethodHandle}s once, so invoking them does not require any further access checks. Since the metadata is
+ * kept in a {@link ClassValue}, it does not prevent a class and its class loader from being unloaded.
+ */
+final class ReflectionMetadata {
+
+    private static final ClassValue<ReflectionMetadata> METADATA = new ClassValue<ReflectionMetadata>() {
+
+        @Override
+        protected ReflectionMetadata computeValue(Class<?> type) {
+            return new ReflectionMetadata(type);
+        }
+    };
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_INVOKER_TYPE = methodType(Object.class, Object[].class);
+    private static final MethodType METHOD_INVOKER_TYPE = methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType FIELD_SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle THROW_INVOCATION_TARGET_EXCEPTION = findThrowInvocationTargetException();
+
+    private final Class<?> type;
+    private final Map<Executable, Parameter[]> parametersByExecutable = new ConcurrentHashMap<>();
+    private final Map<Executable, MethodHandle> invokersByExecutable = new ConcurrentHashMap<>();
+    private volatile List<Constructor<?>> constructors;
+    private volatile List<Method> factoryMethods;
+    private volatile List<InjectableField> injectableFields;
+    private volatile List<List<Method>> instanceMethodsBySignature;
+    private volatile Optional<Constructor<?>> allocator;
+
+    private ReflectionMetadata(Class<?> type) {
+        this.type = type;
+    }
+
+    static ReflectionMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * Returns the parameters of the given constructor or method. The returned array must not be modified.
+     */
+    static Parameter[] getParameters(Executable executable) {
+        return of(executable.getDeclaringClass()).parametersByExecutable.computeIfAbsent(executable, Executable::getParameters);
+    }
+
+    /**
+     * Returns a {@link MethodHandle} of type {@code (Object[])Object} that invokes the given constructor with the
+     * arguments in the given array. Any {@link Throwable} thrown by the constructor is wrapped in an {@link
+     * InvocationTargetException}, exceptions thrown while adapting the arguments are not.
+     */
+    static MethodHandle getInvoker(Constructor<?> constructor) throws IllegalAccessException {
+        Map<Executable, MethodHandle> invokersByExecutable = of(constructor.getDeclaringClass()).invokersByExecutable;
+        MethodHandle invoker = invokersByExecutable.get(constructor);
+        if (invoker == null) {
+            constructor.setAccessible(true);
+            invoker = wrapTargetExceptions(LOOKUP.unreflectConstructor(constructor))
+                    .asFixedArity()
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(CONSTRUCTOR_INVOKER_TYPE);
+            invokersByExecutable.putIfAbsent(constructor, invoker);
+        }
+        return invoker;
+    }
+
+    /**
+     * Returns a {@link MethodHandle} of type {@code (Object, Object[])Object} that invokes the given method on the
+     * receiver with the arguments in the given array. The receiver is ignored if the method is static, {@code null} is
+     * returned if the method is void. Any {@link Throwable} thrown by the method is wrapped in an {@link
+     * InvocationTargetException}, exceptions thrown while adapting the receiver or the arguments are not.
+     */
+    static MethodHandle getInvoker(Method method) throws IllegalAccessException {
+        Map<Executable, MethodHandle> invokersByExecutable = of(method.getDeclaringClass()).invokersByExecutable;
+        MethodHandle invoker = invokersByExecutable.get(method);
+        if (invoker == null) {
+            method.setAccessible(true);
+            MethodHandle methodHandle = wrapTargetExceptions(LOOKUP.unreflect(method)).asFixedArity();
+            if (isStatic(method.getModifiers())) {
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            invoker = methodHandle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(METHOD_INVOKER_TYPE);
+            invokersByExecutable.putIfAbsent(method, invoker);
+        }
+        return invoker;
+    }
+
+    /**
+     * Returns the exception to throw if a {@link ClassCastException} or {@link NullPointerException} has been thrown
+     * while adapting arguments to the parameter types of a {@link MethodHandle}, in line with {@link
+     * Constructor#newInstance(Object...)} and {@link Method#invoke(Object, Object...)}.
+     */
+    static IllegalArgumentException argumentTypeMismatch(RuntimeException e) {
+        return new IllegalArgumentException("argument type mismatch", e);
+    }
+
+    private static MethodHandle wrapTargetExceptions(MethodHandle target) {
+        MethodHandle handler = THROW_INVOCATION_TARGET_EXCEPTION.asType(methodType(target.type().returnType(), Throwable.class));
+        return MethodHandles.catchException(target, Throwable.class, handler);
+    }
+
+    private static MethodHandle findThrowInvocationTargetException() {
+        try {
+            return LOOKUP.findStatic(ReflectionMetadata.class, "throwInvocationTargetException", methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static Object throwInvocationTargetException(Throwable e) throws InvocationTargetException {
+        throw new InvocationTargetException(e);
+    }
+
+    /**
+     * Returns all non-private, non-synthetic constructors declared by the class.
+     */
+    List<Constructor<?>> getConstructors() {
+        List<Constructor<?>> constructors = this.constructors;
+        if (constructors == null) {
+            ImmutableList.Builder<Constructor<?>> builder = ImmutableList.builder();
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (!constructor.isSynthetic() && !isPrivate(constructor.getModifiers())) {
+                    builder.add(constructor);
+                }
+            }
+            constructors = builder.build();
+            this.constructors = constructors;
+        }
+        return constructors;
+    }
+
+    /**
+     * Returns all non-private, non-synthetic static methods declared by the class that may return an instance of the
+     * class.
+     */
+    List<Method> getFactoryMethods() {
+        List<Method> factoryMethods = this.factoryMethods;
+        if (factoryMethods == null) {
+            ImmutableList.Builder<Method> builder = ImmutableList.builder();
+            for (Method method : type.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (!method.isSynthetic() && !isPrivate(modifiers) && isStatic(modifiers) && canReturnInstance(method)) {
+                    builder.add(method);
+                }
+            }
+            factoryMethods = builder.build();
+            this.factoryMethods = factoryMethods;
+        }
+        return factoryMethods;
+    }
+
+    private boolean canReturnInstance(Method method) {
+        return getRawType(method.getGenericReturnType())
+                .filter(clazz -> clazz.isAssignableFrom(type))
+                .isPresent();
+    }
+
+    /**
+     * Returns all non-static, non-final, non-synthetic fields of the class and its superclasses.
+     */
+    List<InjectableField> getInjectableFields() throws IllegalAccessException {
+        List<InjectableField> injectableFields = this.injectableFields;
+        if (injectableFields == null) {
+            ImmutableList.Builder<InjectableField> builder = ImmutableList.builder();
+            for (Class<?> t = type; t != null; t = t.getSuperclass()) {
+                for (Field field : t.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!isStatic(modifiers) && !isFinal(modifiers) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        builder.add(new InjectableField(field, LOOKUP.unreflectSetter(field).asType(FIELD_SETTER_TYPE)));
+                    }
+                }
+            }
+            injectableFields = builder.build();
+            this.injectableFields = injectableFields;
+        }
+        return injectableFields;
+    }
+
+    /**
+     * Returns all non-static, non-synthetic methods of the class, its superclasses and its interfaces, grouped by their
+     * signature. Methods are ordered as they are visited by {@link ch.leadrian.stubr.core.type.Types#visitTypeHierarchy},
+     * an overriding method therefore precedes the methods it overrides.
+     */
+    List<List<Method>> getInstanceMethodsBySignature() {
+        List<List<Method>> instanceMethodsBySignature = this.instanceMethodsBySignature;
+        if (instanceMethodsBySignature == null) {
+            Map<MethodSignature, ImmutableList.Builder<Method>> builders = new LinkedHashMap<>();
+            visitTypeHierarchy(type, t -> {
+                for (Method method : t.getDeclaredMethods()) {
+                    if (!isStatic(method.getModifiers()) && !method.isSynthetic()) {
+                        builders.computeIfAbsent(new MethodSignature(method), signature -> ImmutableList.builder()).add(method);
+                    }
+                }
+            });
+            ImmutableList.Builder<List<Method>> builder = ImmutableList.builder();
+            builders.values().forEach(methods -> builder.add(methods.build()));
+            instanceMethodsBySignature = builder.build();
+            this.instanceMethodsBySignature = instanceMethodsBySignature;
+        }
+        return instanceMethodsBySignature;
+    }
+
+    /**
+     * Returns a constructor that creates an instance of the class without running any constructor of the class or its
+     * superclasses, or {@link Optional#empty()} if the JVM does not support this. The allocator is tried once when it
+     * is created, an allocator that fails to allocate an instance is never returned.
+     */
+    Optional<Constructor<?>> getAllocator() {
+        Optional<Constructor<?>> allocator = this.allocator;
+        if (allocator == null) {
+            allocator = Allocators.newAllocator(type);
+            this.allocator = allocator;
+        }
+        return allocator;
+    }
+
+    /**
+     * A field that can be injected with a value without further access checks.
+     */
+    static final class InjectableField {
+
+        private final Field field;
+        private final MethodHandle setter;
+
+        private InjectableField(Field field, MethodHandle setter) {
+            this.field = field;
+            this.setter = setter;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (ClassCastException | NullPointerException e) {
+                throw argumentTypeMismatch(e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // Setters do not throw checked exceptions
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    private static final class MethodSignature {
+
+        private static final EqualsAndHashCode<MethodSignature> EQUALS_AND_HASH_CODE = equalsAndHashCodeBuilder(MethodSignature.class)
+                .compareAndHash(signature -> signature.name)
+                .compare(signature -> signature.parameterTypes)
+                .build();
+
+        private final String name;
+
+        private final List<Class<?>> parameterTypes;
+
+        private MethodSignature(Method method) {
+            this.name = method.getName();
+            this.parameterTypes = asList(method.getParameterTypes());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return EQUALS_AND_HASH_CODE.equals(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return EQUALS_AND_HASH_CODE.hashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("name", name)
+                    .add("parameterTypes", parameterTypes)
+                    .toString();
+        }
+
+    }
+
+    /**
+     * Creates constructors for serialization, which only run the constructor of {@link Object}.
+     */
+    private static final class Allocators {
+
+        private static final Object REFLECTION_FACTORY;
+        private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+
+        static {
+            Object reflectionFactory;
+            Method newConstructorForSerialization;
+            try {
+                // Exported by the jdk.unsupported module since Java 9
+                Class<?> reflectionFactoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                reflectionFactory = reflectionFactoryClass.getMethod("getReflectionFactory").invoke(null);
+                newConstructorForSerialization = reflectionFactoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                reflectionFactory = null;
+                newConstructorForSerialization = null;
+            }
+            REFLECTION_FACTORY = reflectionFactory;
+            NEW_CONSTRUCTOR_FOR_SERIALIZATION = newConstructorForSerialization;
+        }
+
+        private Allocators() {
+        }
+
+        static Optional<Constructor<?>> newAllocator(Class<?> type) {
+            if (NEW_CONSTRUCTOR_FOR_SERIALIZATION == null) {
+                return Optional.empty();
+            }
+            try {
+                Constructor<?> allocator = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(REFLECTION_FACTORY, type, Object.class.getDeclaredConstructor());
+                allocator.setAccessible(true);
+                // Some allocators fail with an IllegalAccessError, which is only detected when allocating
+                allocator.newInstance();
+                return Optional.of(allocator);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                return Optional.empty();
+            }
+        }
+
+    }
+
+}
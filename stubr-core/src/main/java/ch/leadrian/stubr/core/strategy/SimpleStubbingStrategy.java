@@ -26,6 +26,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Optional;
 
 import static ch.leadrian.stubr.core.type.TypeVisitor.accept;
 import static ch.leadrian.stubr.core.type.Types.getBound;
@@ -67,35 +68,24 @@ public abstract class SimpleStubbingStrategy<T> implements StubbingStrategy {
      */
     @Override
     public boolean accepts(StubbingContext context, Type type) {
-        return accept(type, new TypeVisitor<Boolean>() {
-
-            @Override
-            public Boolean visit(Class<?> clazz) {
-                return acceptsClass(context, clazz);
-            }
-
-            @Override
-            public Boolean visit(ParameterizedType parameterizedType) {
-                return acceptsParameterizedType(context, parameterizedType);
-            }
-
-            @Override
-            public Boolean visit(WildcardType wildcardType) {
-                return getBound(wildcardType)
-                        .filter(t -> accept(t, this))
-                        .isPresent();
-            }
-
-            @Override
-            public Boolean visit(TypeVariable<?> typeVariable) {
-                return false;
-            }
+        return acceptsType(context, type);
+    }
 
-            @Override
-            public Boolean visit(GenericArrayType genericArrayType) {
-                return acceptsGenericArrayType(context, genericArrayType);
-            }
-        });
+    private boolean acceptsType(StubbingContext context, Type type) {
+        // Dispatching with a stateless visitor, since this is called for almost any stubbed value
+        switch (accept(type, TypeKindVisitor.INSTANCE)) {
+            case CLASS:
+                return acceptsClass(context, (Class<?>) type);
+            case PARAMETERIZED_TYPE:
+                return acceptsParameterizedType(context, (ParameterizedType) type);
+            case WILDCARD_TYPE:
+                Optional<Type> bound = getBound(type);
+                return bound.isPresent() && acceptsType(context, bound.get());
+            case GENERIC_ARRAY_TYPE:
+                return acceptsGenericArrayType(context, (GenericArrayType) type);
+            default:
+                return false;
+        }
     }
 
     /**
@@ -151,35 +141,26 @@ public abstract class SimpleStubbingStrategy<T> implements StubbingStrategy {
      */
     @Override
     public T stub(StubbingContext context, Type type) {
-        return accept(type, new TypeVisitor<T>() {
-
-            @Override
-            public T visit(Class<?> clazz) {
-                return stubClass(context, clazz);
-            }
-
-            @Override
-            public T visit(ParameterizedType parameterizedType) {
-                return stubParameterizedType(context, parameterizedType);
-            }
-
-            @Override
-            public T visit(WildcardType wildcardType) {
-                return getBound(wildcardType)
-                        .map(t -> accept(t, this))
-                        .orElseThrow(() -> new StubbingException(context.getSite(), wildcardType));
-            }
-
-            @Override
-            public T visit(TypeVariable<?> typeVariable) {
-                throw new StubbingException(context.getSite(), typeVariable);
-            }
-
-            @Override
-            public T visit(GenericArrayType genericArrayType) {
-                return stubGenericArrayType(context, genericArrayType);
-            }
-        });
+        return stubType(context, type);
+    }
+
+    private T stubType(StubbingContext context, Type type) {
+        switch (accept(type, TypeKindVisitor.INSTANCE)) {
+            case CLASS:
+                return stubClass(context, (Class<?>) type);
+            case PARAMETERIZED_TYPE:
+                return stubParameterizedType(context, (ParameterizedType) type);
+            case WILDCARD_TYPE:
+                Optional<Type> bound = getBound(type);
+                if (!bound.isPresent()) {
+                    throw new StubbingException(context.getSite(), type);
+                }
+                return stubType(context, bound.get());
+            case GENERIC_ARRAY_TYPE:
+                return stubGenericArrayType(context, (GenericArrayType) type);
+            default:
+                throw new StubbingException(context.getSite(), type);
+        }
     }
 
     /**
@@ -209,4 +190,43 @@ public abstract class SimpleStubbingStrategy<T> implements StubbingStrategy {
      */
     protected abstract T stubGenericArrayType(StubbingContext context, GenericArrayType type);
 
+    private enum TypeKind {
+        CLASS,
+        PARAMETERIZED_TYPE,
+        WILDCARD_TYPE,
+        TYPE_VARIABLE,
+        GENERIC_ARRAY_TYPE
+    }
+
+    private static final class TypeKindVisitor implements TypeVisitor<TypeKind> {
+
+        static final TypeKindVisitor INSTANCE = new TypeKindVisitor();
+
+        @Override
+        public TypeKind visit(Class<?> clazz) {
+            return TypeKind.CLASS;
+        }
+
+        @Override
+        public TypeKind visit(ParameterizedType parameterizedType) {
+            return TypeKind.PARAMETERIZED_TYPE;
+        }
+
+        @Override
+        public TypeKind visit(WildcardType wildcardType) {
+            return TypeKind.WILDCARD_TYPE;
+        }
+
+        @Override
+        public TypeKind visit(TypeVariable<?> typeVariable) {
+            return TypeKind.TYPE_VARIABLE;
+        }
+
+        @Override
+        public TypeKind visit(GenericArrayType genericArrayType) {
+            return TypeKind.GENERIC_ARRAY_TYPE;
+        }
+
+    }
+
 }
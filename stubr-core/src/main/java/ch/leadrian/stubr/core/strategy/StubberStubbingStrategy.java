@@ -21,8 +21,11 @@ import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingStrategy;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
 
 import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static java.util.Collections.singleton;
 
 enum StubberStubbingStrategy implements StubbingStrategy {
     INSTANCE;
@@ -34,6 +37,16 @@ enum StubberStubbingStrategy implements StubbingStrategy {
                 .isPresent();
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return Optional.of(singleton(Stubber.class));
+    }
+
     @Override
     public Stubber stub(StubbingContext context, Type type) {
         return context.getStubber();
@@ -112,6 +112,25 @@ public final class StubbingStrategies {
     private StubbingStrategies() {
     }
 
+    /**
+     * Returns a {@link StubbingStrategy} that creates instances of classes without running any of their constructors.
+     * <p>
+     * All fields of an allocated instance have their default values, for example {@code null} or {@code 0}. The
+     * strategy is therefore meant to be combined with {@link StubbingStrategies#fieldInjection(Matcher)}, which
+     * populates the fields of the allocated instance. It is useful if constructors are expensive or have side effects
+     * that are irrelevant for the stub value.
+     * <p>
+     * The strategy accepts any concrete class, unless the JVM does not support allocating an instance of it without
+     * running a constructor. Classes of the Java platform, such as {@link String} or {@link Class}, are never accepted,
+     * since their instances would be corrupt.
+     *
+     * @return a {@link StubbingStrategy} that allocates instances without running a constructor
+     * @see StubbingStrategies#fieldInjection(Matcher)
+     */
+    public static StubbingStrategy allocatedInstance() {
+        return AllocatingStubbingStrategy.INSTANCE;
+    }
+
     /**
      * Creates a {@link StubbingStrategy} used to stub object arrays as well as primitive arrays. A {@link
      * ToIntFunction} must be provided to determine the array size. The array size may be constant, might be derive from
@@ -132,7 +151,7 @@ public final class StubbingStrategies {
      * @return a {@link StubbingStrategy} for stubbing arrays.
      */
     public static StubbingStrategy array(int arraySize) {
-        return array(context -> arraySize);
+        return array(new ConstantSize(arraySize));
     }
 
     /**
@@ -170,7 +189,7 @@ public final class StubbingStrategies {
      * @return a {@link StubbingStrategy} for stubbing collections.
      */
     public static <T extends Collection> StubbingStrategy collection(Class<T> collectionClass, Function<List<Object>, ? extends T> collectionFactory, int collectionSize) {
-        return collection(collectionClass, collectionFactory, context -> collectionSize);
+        return collection(collectionClass, collectionFactory, new ConstantSize(collectionSize));
     }
 
     /**
@@ -247,7 +266,7 @@ public final class StubbingStrategies {
      * @return a list of {@link StubbingStrategy}s for common collections
      */
     public static List<StubbingStrategy> defaultCollections(int size) {
-        return defaultCollections((ToIntFunction<? super StubbingContext>) context -> size);
+        return defaultCollections(new ConstantSize(size));
     }
 
     /**
@@ -542,7 +561,7 @@ public final class StubbingStrategies {
      * @return a {@link StubbingStrategy} for stubbing maps.
      */
     public static <T extends Map> StubbingStrategy map(Class<T> mapClass, Function<Map<Object, Object>, ? extends T> mapFactory, int mapSize) {
-        return map(mapClass, mapFactory, context -> mapSize);
+        return map(mapClass, mapFactory, new ConstantSize(mapSize));
     }
 
     /**
@@ -650,6 +669,27 @@ public final class StubbingStrategies {
         return proxy(true);
     }
 
+    /**
+     * Returns a {@link StubbingStrategy} that creates stub values for interfaces using {@link
+     * java.lang.reflect.Proxy#newProxyInstance(ClassLoader, Class[], java.lang.reflect.InvocationHandler)}. Unlike
+     * {@link StubbingStrategies#proxy(boolean)}, the return values of all non-void methods are provided eagerly by the
+     * {@link ch.leadrian.stubr.core.Stubber} of the context used to create the proxy instance, invoking a method only
+     * returns the stored value.
+     * <p>
+     * If an interface directly or indirectly returns itself, for example {@code interface Node { Node next(); }}, the
+     * proxies of that interface created while a proxy of the same interface is being created provide their return
+     * values when a method is invoked for the first time. The return values are then cached.
+     * <p>
+     * If a method has a default implementation, the real method will be invoked.
+     *
+     * @return a {@link StubbingStrategy} that creates stub values for interfaces using proxies with eagerly provided
+     * return values
+     * @see StubbingStrategies#proxy(boolean)
+     */
+    public static StubbingStrategy eagerProxy() {
+        return ProxyStubbingStrategy.EAGER;
+    }
+
     /**
      * Returns a {@link StubbingStrategy} providing the {@link ch.leadrian.stubr.core.Stubber} given by {@link
      * StubbingContext#getStubber()} passed to {@link StubbingStrategy#stub(StubbingContext, Type)}.
@@ -21,11 +21,17 @@ import ch.leadrian.stubr.core.StubbingContext;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static ch.leadrian.stubr.core.type.Types.canonicalize;
+import static ch.leadrian.stubr.core.type.Types.getRawType;
+import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
-final class SuppliedValueStubbingStrategy extends SimpleStubbingStrategy<Object> {
+final class SuppliedValueStubbingStrategy extends SimpleStubbingStrategy<Object> implements ExactTypeStubbingStrategy {
 
     private final Type valueType;
     private final StubValueSupplier<?> valueSupplier;
@@ -34,7 +40,7 @@ final class SuppliedValueStubbingStrategy extends SimpleStubbingStrategy<Object>
     SuppliedValueStubbingStrategy(Type valueType, StubValueSupplier<?> valueSupplier) {
         requireNonNull(valueType, "valueType");
         requireNonNull(valueSupplier, "valueSupplier");
-        this.valueType = valueType;
+        this.valueType = canonicalize(valueType);
         this.valueSupplier = valueSupplier;
     }
 
@@ -53,6 +59,21 @@ final class SuppliedValueStubbingStrategy extends SimpleStubbingStrategy<Object>
         return valueType.equals(type);
     }
 
+    @Override
+    public boolean isContextDependent(Type type) {
+        return false;
+    }
+
+    @Override
+    public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+        return getRawType(valueType).map(Collections::singleton);
+    }
+
+    @Override
+    public Type getAcceptedType() {
+        return valueType;
+    }
+
     @Override
     protected Object stubClass(StubbingContext context, Class<?> type) {
         return getNextValue(context);
@@ -72,4 +93,11 @@ final class SuppliedValueStubbingStrategy extends SimpleStubbingStrategy<Object>
         return valueSupplier.get(context, sequenceNumber.getAndIncrement());
     }
 
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("valueType", valueType)
+                .toString();
+    }
+
 }
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.core.type;
+
+import ch.leadrian.stubr.internal.com.google.common.collect.Interner;
+import ch.leadrian.stubr.internal.com.google.common.collect.Interners;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Implementations of {@link ParameterizedType}, {@link GenericArrayType} and {@link WildcardType} for types created
+ * when resolving type variables. The implementations are equal to the implementations of the JDK if they represent the
+ * same type.
+ * <p>
+ * Canonical instances are interned, the hash codes of all instances are computed once.
+ */
+final class ResolvedTypes {
+
+    private static final Interner<Type> CANONICAL_TYPES = Interners.newWeakInterner();
+
+    private ResolvedTypes() {
+    }
+
+    static Type canonicalize(Type type) {
+        if (type instanceof Class || type instanceof TypeVariable || type instanceof ResolvedType && ((ResolvedType) type).canonical) {
+            // Type variables are only equal to the JDK's own implementation
+            return type;
+        }
+        ResolvedType resolvedType;
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            resolvedType = new ParameterizedTypeImpl(
+                    ownerType != null ? canonicalize(ownerType) : null,
+                    (Class<?>) parameterizedType.getRawType(),
+                    canonicalize(parameterizedType.getActualTypeArguments())
+            );
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = canonicalize(((GenericArrayType) type).getGenericComponentType());
+            if (componentType instanceof Class) {
+                return arrayType(componentType);
+            }
+            resolvedType = new GenericArrayTypeImpl(componentType);
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            resolvedType = new WildcardTypeImpl(canonicalize(wildcardType.getUpperBounds()), canonicalize(wildcardType.getLowerBounds()));
+        } else {
+            return type;
+        }
+        ResolvedType canonicalType = (ResolvedType) CANONICAL_TYPES.intern(resolvedType);
+        canonicalType.canonical = true;
+        return canonicalType;
+    }
+
+    private static Type[] canonicalize(Type[] types) {
+        Type[] canonicalTypes = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            canonicalTypes[i] = canonicalize(types[i]);
+        }
+        return canonicalTypes;
+    }
+
+    static ParameterizedType parameterizedType(Type ownerType, Class<?> rawType, Type[] actualTypeArguments) {
+        return new ParameterizedTypeImpl(ownerType, rawType, actualTypeArguments);
+    }
+
+    static Type arrayType(Type componentType) {
+        if (componentType instanceof Class) {
+            return Array.newInstance((Class<?>) componentType, 0).getClass();
+        }
+        return new GenericArrayTypeImpl(componentType);
+    }
+
+    static WildcardType wildcardType(Type[] upperBounds, Type[] lowerBounds) {
+        return new WildcardTypeImpl(upperBounds, lowerBounds);
+    }
+
+    private static String typeName(Type type) {
+        return type instanceof Class ? ((Class<?>) type).getTypeName() : type.toString();
+    }
+
+    private abstract static class ResolvedType implements Type {
+
+        /**
+         * Set once {@code this} type has been interned and is the canonical instance of the type it represents.
+         */
+        boolean canonical;
+
+    }
+
+    private static final class ParameterizedTypeImpl extends ResolvedType implements ParameterizedType {
+
+        private final Type ownerType;
+        private final Class<?> rawType;
+        private final Type[] actualTypeArguments;
+        private final int hashCode;
+
+        ParameterizedTypeImpl(Type ownerType, Class<?> rawType, Type[] actualTypeArguments) {
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.actualTypeArguments = actualTypeArguments;
+            this.hashCode = Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return actualTypeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) o;
+            return rawType.equals(that.getRawType())
+                    && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(actualTypeArguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            if (ownerType instanceof ParameterizedType) {
+                Class<?> ownerRawType = (Class<?>) ((ParameterizedType) ownerType).getRawType();
+                builder.append(ownerType)
+                        .append('$')
+                        .append(rawType.getName().replace(ownerRawType.getName() + "$", ""));
+            } else {
+                builder.append(rawType.getName());
+            }
+            builder.append('<');
+            for (int i = 0; i < actualTypeArguments.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(typeName(actualTypeArguments[i]));
+            }
+            return builder.append('>').toString();
+        }
+
+    }
+
+    private static final class GenericArrayTypeImpl extends ResolvedType implements GenericArrayType {
+
+        private final Type genericComponentType;
+        private final int hashCode;
+
+        GenericArrayTypeImpl(Type genericComponentType) {
+            this.genericComponentType = genericComponentType;
+            this.hashCode = genericComponentType.hashCode();
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return genericComponentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof GenericArrayType && genericComponentType.equals(((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return typeName(genericComponentType) + "[]";
+        }
+
+    }
+
+    private static final class WildcardTypeImpl extends ResolvedType implements WildcardType {
+
+        private final Type[] upperBounds;
+        private final Type[] lowerBounds;
+        private final int hashCode;
+
+        WildcardTypeImpl(Type[] upperBounds, Type[] lowerBounds) {
+            this.upperBounds = upperBounds;
+            this.lowerBounds = lowerBounds;
+            this.hashCode = Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WildcardType)) {
+                return false;
+            }
+            WildcardType that = (WildcardType) o;
+            return Arrays.equals(upperBounds, that.getUpperBounds()) && Arrays.equals(lowerBounds, that.getLowerBounds());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            Type[] bounds;
+            StringBuilder builder = new StringBuilder("?");
+            if (lowerBounds.length > 0) {
+                bounds = lowerBounds;
+                builder.append(" super ");
+            } else if (upperBounds.length > 0 && !upperBounds[0].equals(Object.class)) {
+                bounds = upperBounds;
+                builder.append(" extends ");
+            } else {
+                return builder.toString();
+            }
+            for (int i = 0; i < bounds.length; i++) {
+                if (i > 0) {
+                    builder.append(" & ");
+                }
+                builder.append(typeName(bounds[i]));
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
@@ -35,6 +35,8 @@ import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toSt
  * <pre>
  * Type listType = new TypeLiteral&lt;List&lt;String&gt;&gt;() {}.getType();
  * </pre>
+ * <p>
+ * The actual type is captured once per concrete implementation and is canonical, see {@link Types#canonicalize(Type)}.
  *
  * @param <T> the generic type
  */
@@ -46,13 +48,25 @@ public abstract class TypeLiteral<T> {
             .compareAndHash(TypeLiteral::getType)
             .build();
 
+    private static final ClassValue<Type> CAPTURED_TYPES = new ClassValue<Type>() {
+
+        @Override
+        protected Type computeValue(Class<?> type) {
+            return captureType(type);
+        }
+    };
+
     private final Type type;
 
     /**
      * The default constructor used to infer the actual type of the type literal.
      */
     protected TypeLiteral() {
-        Type superclass = getClass().getGenericSuperclass();
+        type = CAPTURED_TYPES.get(getClass());
+    }
+
+    private static Type captureType(Class<?> typeLiteralClass) {
+        Type superclass = typeLiteralClass.getGenericSuperclass();
         if (!(superclass instanceof ParameterizedType)) {
             throw new IllegalStateException("Superclass must be parameterized");
         }
@@ -60,7 +74,7 @@ public abstract class TypeLiteral<T> {
         if (typeArguments.length != 1) {
             throw new IllegalStateException("Expected exactly one type argument");
         }
-        type = typeArguments[0];
+        return Types.canonicalize(typeArguments[0]);
     }
 
     /**
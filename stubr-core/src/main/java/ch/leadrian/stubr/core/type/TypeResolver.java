@@ -19,14 +19,29 @@ package ch.leadrian.stubr.core.type;
 import ch.leadrian.equalizer.EqualsAndHashCode;
 import ch.leadrian.stubr.internal.com.google.common.reflect.TypeToken;
 
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static ch.leadrian.equalizer.Equalizer.equalsAndHashCodeBuilder;
 import static ch.leadrian.stubr.internal.com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 
 /**
  * A helper class that is able to resolve generic types such as type variables given a concrete type.
+ * <p>
+ * Resolved types are cached and canonical, resolving the same generic type again is cheap. Type variables of
+ * superclasses and interfaces are resolved using bindings that are computed once per class.
  */
 public final class TypeResolver {
 
@@ -34,7 +49,17 @@ public final class TypeResolver {
             .compareAndHash(resolver -> resolver.type)
             .build();
 
-    private final TypeToken<?> type;
+    private static final int MAX_CACHED_TYPES = 256;
+
+    private static final Type[] NO_TYPES = new Type[0];
+
+    private final Type type;
+    private final Map<TypeVariable<?>, Type> arguments;
+    private final Map<TypeVariable<?>, Type> supertypeBindings;
+    private final Function<TypeVariable<?>, Type> argumentBindings;
+    private final Function<TypeVariable<?>, Type> bindings = this::getBinding;
+    private final Map<Type, Type> resolvedTypes = new ConcurrentHashMap<>();
+    private volatile TypeToken<?> typeToken;
 
     /**
      * Returns a new {@code TypeResolver} that uses the given {@code typeLiteral} to resolve other types.
@@ -59,7 +84,50 @@ public final class TypeResolver {
 
     private TypeResolver(Type type) {
         requireNonNull(type, "type");
-        this.type = TypeToken.of(type);
+        this.type = type;
+        if (type instanceof Class) {
+            this.arguments = emptyMap();
+            this.supertypeBindings = TypeVariableBindings.getSupertypeBindings((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            this.arguments = getArguments((ParameterizedType) type);
+            this.supertypeBindings = TypeVariableBindings.getSupertypeBindings((Class<?>) ((ParameterizedType) type).getRawType());
+        } else {
+            // Wildcards, type variables and generic arrays are resolved using their bounds
+            this.arguments = null;
+            this.supertypeBindings = null;
+        }
+        this.argumentBindings = arguments != null ? arguments::get : null;
+    }
+
+    private static Map<TypeVariable<?>, Type> getArguments(ParameterizedType type) {
+        Map<TypeVariable<?>, Type> arguments = new HashMap<>();
+        for (Type ownerType = type; ownerType instanceof ParameterizedType; ownerType = ((ParameterizedType) ownerType).getOwnerType()) {
+            ParameterizedType parameterizedType = (ParameterizedType) ownerType;
+            TypeVariable<?>[] typeParameters = ((Class<?>) parameterizedType.getRawType()).getTypeParameters();
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeParameters.length; i++) {
+                arguments.putIfAbsent(typeParameters[i], capture(typeParameters[i], actualTypeArguments[i]));
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Like a captured wildcard, a wildcard without lower bound is also bounded by the bounds of the type parameter.
+     */
+    private static Type capture(TypeVariable<?> typeParameter, Type argument) {
+        if (!(argument instanceof WildcardType) || ((WildcardType) argument).getLowerBounds().length > 0) {
+            return argument;
+        }
+        Type[] upperBounds = ((WildcardType) argument).getUpperBounds();
+        Set<Type> bounds = new LinkedHashSet<>(asList(upperBounds));
+        bounds.addAll(asList(typeParameter.getBounds()));
+        if (bounds.size() > 1) {
+            // Object is implicit and only relevant if it is the only bound
+            bounds.remove(Object.class);
+        }
+        Type[] capturedUpperBounds = bounds.toArray(NO_TYPES);
+        return Arrays.equals(capturedUpperBounds, upperBounds) ? argument : ResolvedTypes.wildcardType(capturedUpperBounds, NO_TYPES);
     }
 
     /**
@@ -69,7 +137,44 @@ public final class TypeResolver {
      * @return the resolved type
      */
     public Type resolve(Type genericType) {
-        return type.resolveType(genericType).getType();
+        if (genericType instanceof Class) {
+            // Classes are always concrete
+            return genericType;
+        }
+        Type resolvedType = resolvedTypes.get(genericType);
+        if (resolvedType == null) {
+            resolvedType = resolveUncached(genericType);
+            if (resolvedTypes.size() >= MAX_CACHED_TYPES) {
+                resolvedTypes.clear();
+            }
+            resolvedTypes.put(genericType, resolvedType);
+        }
+        return resolvedType;
+    }
+
+    private Type resolveUncached(Type genericType) {
+        if (arguments == null) {
+            return ResolvedTypes.canonicalize(getTypeToken().resolveType(genericType).getType());
+        }
+        return ResolvedTypes.canonicalize(TypeVariableBindings.substitute(genericType, bindings));
+    }
+
+    private Type getBinding(TypeVariable<?> variable) {
+        Type argument = arguments.get(variable);
+        if (argument != null) {
+            return argument;
+        }
+        Type supertypeArgument = supertypeBindings.get(variable);
+        return supertypeArgument != null ? TypeVariableBindings.substitute(supertypeArgument, argumentBindings) : null;
+    }
+
+    private TypeToken<?> getTypeToken() {
+        TypeToken<?> typeToken = this.typeToken;
+        if (typeToken == null) {
+            typeToken = TypeToken.of(type);
+            this.typeToken = typeToken;
+        }
+        return typeToken;
     }
 
     /**
@@ -94,7 +199,7 @@ public final class TypeResolver {
     @Override
     public String toString() {
         return toStringHelper(this)
-                .add("type", type)
+                .add("type", type instanceof Class ? ((Class<?>) type).getName() : type)
                 .toString();
     }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.core.type;
+
+import ch.leadrian.stubr.internal.com.google.common.collect.ImmutableMap;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bindings of type variables to actual type arguments.
+ * <p>
+ * The type variables of all supertypes of a class are bound to the type arguments given in the class declaration, the
+ * bindings are computed once per class.
+ */
+final class TypeVariableBindings {
+
+    private static final ClassValue<Map<TypeVariable<?>, Type>> SUPERTYPE_BINDINGS = new ClassValue<Map<TypeVariable<?>, Type>>() {
+
+        @Override
+        protected Map<TypeVariable<?>, Type> computeValue(Class<?> type) {
+            return computeSupertypeBindings(type);
+        }
+    };
+
+    private TypeVariableBindings() {
+    }
+
+    /**
+     * Returns the type variables of all superclasses and interfaces of the given {@code type}, bound to the types given
+     * in the declaration of {@code type}. The bound types may contain the type variables of {@code type} itself.
+     */
+    static Map<TypeVariable<?>, Type> getSupertypeBindings(Class<?> type) {
+        return SUPERTYPE_BINDINGS.get(type);
+    }
+
+    private static Map<TypeVariable<?>, Type> computeSupertypeBindings(Class<?> type) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        Type superclass = type.getGenericSuperclass();
+        if (superclass != null) {
+            addSupertypeBindings(bindings, superclass);
+        }
+        for (Type interfaceType : type.getGenericInterfaces()) {
+            addSupertypeBindings(bindings, interfaceType);
+        }
+        return ImmutableMap.copyOf(bindings);
+    }
+
+    private static void addSupertypeBindings(Map<TypeVariable<?>, Type> bindings, Type supertype) {
+        if (supertype instanceof Class) {
+            // A raw supertype does not bind its type variables
+            getSupertypeBindings((Class<?>) supertype).forEach(bindings::putIfAbsent);
+        } else if (supertype instanceof ParameterizedType) {
+            ParameterizedType parameterizedSupertype = (ParameterizedType) supertype;
+            Class<?> rawSupertype = (Class<?>) parameterizedSupertype.getRawType();
+            Map<TypeVariable<?>, Type> arguments = getArguments(parameterizedSupertype);
+            arguments.forEach(bindings::putIfAbsent);
+            getSupertypeBindings(rawSupertype).forEach((variable, boundType) -> bindings.putIfAbsent(variable, substitute(boundType, arguments::get)));
+        }
+    }
+
+    private static Map<TypeVariable<?>, Type> getArguments(ParameterizedType type) {
+        Map<TypeVariable<?>, Type> arguments = new HashMap<>();
+        // The type variables of enclosing classes are bound by the owner type, for example Outer<String>.Inner
+        for (Type ownerType = type; ownerType instanceof ParameterizedType; ownerType = ((ParameterizedType) ownerType).getOwnerType()) {
+            ParameterizedType parameterizedType = (ParameterizedType) ownerType;
+            TypeVariable<?>[] typeParameters = ((Class<?>) parameterizedType.getRawType()).getTypeParameters();
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeParameters.length; i++) {
+                arguments.putIfAbsent(typeParameters[i], actualTypeArguments[i]);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Replaces all type variables contained in {@code type} for which {@code bindings} returns a type. Parts of {@code
+     * type} that do not contain any bound type variables are not copied.
+     */
+    static Type substitute(Type type, Function<? super TypeVariable<?>, ? extends Type> bindings) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            Type boundType = bindings.apply((TypeVariable<?>) type);
+            return boundType != null ? boundType : type;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            Type substitutedOwnerType = ownerType != null ? substitute(ownerType, bindings) : null;
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            Type[] substitutedTypeArguments = substitute(actualTypeArguments, bindings);
+            if (substitutedOwnerType == ownerType && substitutedTypeArguments == actualTypeArguments) {
+                return type;
+            }
+            return ResolvedTypes.parameterizedType(substitutedOwnerType, (Class<?>) parameterizedType.getRawType(), substitutedTypeArguments);
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            Type substitutedComponentType = substitute(componentType, bindings);
+            return substitutedComponentType != componentType ? ResolvedTypes.arrayType(substitutedComponentType) : type;
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            Type[] substitutedUpperBounds = substitute(upperBounds, bindings);
+            Type[] substitutedLowerBounds = substitute(lowerBounds, bindings);
+            if (substitutedUpperBounds == upperBounds && substitutedLowerBounds == lowerBounds) {
+                return type;
+            }
+            return ResolvedTypes.wildcardType(substitutedUpperBounds, substitutedLowerBounds);
+        }
+        return type;
+    }
+
+    /**
+     * Returns the given {@code types} if none of them contain a bound type variable, else a new array.
+     */
+    private static Type[] substitute(Type[] types, Function<? super TypeVariable<?>, ? extends Type> bindings) {
+        Type[] substitutedTypes = types;
+        for (int i = 0; i < types.length; i++) {
+            Type substitutedType = substitute(types[i], bindings);
+            if (substitutedType != types[i]) {
+                if (substitutedTypes == types) {
+                    substitutedTypes = types.clone();
+                }
+                substitutedTypes[i] = substitutedType;
+            }
+        }
+        return substitutedTypes;
+    }
+
+}
@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.function.Consumer;
 
 import static ch.leadrian.stubr.core.type.TypeVisitor.accept;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Utility class for processing {@link Type}s.
@@ -52,34 +53,7 @@ public final class Types {
      * else {@link Optional#empty()}
      */
     public static Optional<Class<?>> getRawType(Type type) {
-        return accept(type, new TypeVisitor<Optional<Class<?>>>() {
-
-            @Override
-            public Optional<Class<?>> visit(Class<?> clazz) {
-                return Optional.of(clazz);
-            }
-
-            @Override
-            public Optional<Class<?>> visit(ParameterizedType parameterizedType) {
-                return accept(parameterizedType.getRawType(), this);
-            }
-
-            @Override
-            public Optional<Class<?>> visit(WildcardType wildcardType) {
-                return getBound(wildcardType).flatMap(type -> accept(type, this));
-            }
-
-            @Override
-            public Optional<Class<?>> visit(TypeVariable<?> typeVariable) {
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Class<?>> visit(GenericArrayType genericArrayType) {
-                return getRawType(genericArrayType.getGenericComponentType())
-                        .map(componentType -> Array.newInstance(componentType, 0).getClass());
-            }
-        });
+        return accept(type, RawTypeVisitor.INSTANCE);
     }
 
     /**
@@ -102,7 +76,7 @@ public final class Types {
      */
     @SuppressWarnings("unchecked")
     public static <T> Optional<Class<T>> getRawType(TypeLiteral<T> typeLiteral) {
-        return getRawType(typeLiteral.getType()).map(type -> (Class<T>) type);
+        return (Optional<Class<T>>) (Optional<?>) getRawType(typeLiteral.getType());
     }
 
     /**
@@ -130,41 +104,7 @@ public final class Types {
      * @return the upper bound of the given {@code type}
      */
     public static Optional<Type> getOnlyUpperBound(Type type) {
-        return accept(type, new TypeVisitor<Optional<Type>>() {
-
-            @Override
-            public Optional<Type> visit(Class<?> clazz) {
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Type> visit(ParameterizedType parameterizedType) {
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Type> visit(WildcardType wildcardType) {
-                Type[] upperBounds = wildcardType.getUpperBounds();
-                if (upperBounds.length == 1) {
-                    return Optional.of(upperBounds[0]);
-                }
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Type> visit(TypeVariable<?> typeVariable) {
-                Type[] upperBounds = typeVariable.getBounds();
-                if (upperBounds.length == 1) {
-                    return Optional.of(upperBounds[0]);
-                }
-                return Optional.empty();
-            }
-
-            @Override
-            public Optional<Type> visit(GenericArrayType genericArrayType) {
-                return Optional.empty();
-            }
-        });
+        return accept(type, OnlyUpperBoundVisitor.INSTANCE);
     }
 
     /**
@@ -189,33 +129,22 @@ public final class Types {
      * @throws IllegalArgumentException if the the given {@code type} is a {@link WildcardType} with multiple bounds
      */
     public static Type trimWildcard(Type type) {
-        return accept(type, new TypeVisitor<Type>() {
-
-            @Override
-            public Type visit(Class<?> clazz) {
-                return clazz;
-            }
-
-            @Override
-            public Type visit(ParameterizedType parameterizedType) {
-                return parameterizedType;
-            }
-
-            @Override
-            public Type visit(WildcardType wildcardType) {
-                return getBound(type).orElseThrow(() -> new IllegalArgumentException("Cannot trim wildcard type that does not have exactly one bound: " + type));
-            }
-
-            @Override
-            public Type visit(TypeVariable<?> typeVariable) {
-                return getBound(type).orElseThrow(() -> new IllegalArgumentException("Cannot trim type variable that does not have exactly one bound: " + type));
-            }
+        return accept(type, TrimWildcardVisitor.INSTANCE);
+    }
 
-            @Override
-            public Type visit(GenericArrayType genericArrayType) {
-                return genericArrayType;
-            }
-        });
+    /**
+     * Returns the canonical instance of the given {@code type}.
+     * <p>
+     * The canonical instance is equal to the given {@code type}, but all canonical instances of equal types are the
+     * same instance as long as they are referenced. Its hash code is only computed once, canonical types are therefore
+     * cheap keys for maps. {@link Class}es and {@link TypeVariable}s are already canonical and returned as they are.
+     *
+     * @param type the type to canonicalize
+     * @return the canonical instance of the given {@code type}
+     */
+    public static Type canonicalize(Type type) {
+        requireNonNull(type, "type");
+        return ResolvedTypes.canonicalize(type);
     }
 
     /**
@@ -237,4 +166,130 @@ public final class Types {
         }
     }
 
+    private static final class RawTypeVisitor implements TypeVisitor<Optional<Class<?>>> {
+
+        static final RawTypeVisitor INSTANCE = new RawTypeVisitor();
+
+        private static final ClassValue<Optional<Class<?>>> RAW_TYPES = new ClassValue<Optional<Class<?>>>() {
+
+            @Override
+            protected Optional<Class<?>> computeValue(Class<?> type) {
+                return Optional.of(type);
+            }
+        };
+
+        private static final ClassValue<Optional<Class<?>>> RAW_ARRAY_TYPES = new ClassValue<Optional<Class<?>>>() {
+
+            @Override
+            protected Optional<Class<?>> computeValue(Class<?> componentType) {
+                return Optional.of(Array.newInstance(componentType, 0).getClass());
+            }
+        };
+
+        @Override
+        public Optional<Class<?>> visit(Class<?> clazz) {
+            return RAW_TYPES.get(clazz);
+        }
+
+        @Override
+        public Optional<Class<?>> visit(ParameterizedType parameterizedType) {
+            return accept(parameterizedType.getRawType(), this);
+        }
+
+        @Override
+        public Optional<Class<?>> visit(WildcardType wildcardType) {
+            Optional<Type> bound = getBound(wildcardType);
+            return bound.isPresent() ? accept(bound.get(), this) : Optional.empty();
+        }
+
+        @Override
+        public Optional<Class<?>> visit(TypeVariable<?> typeVariable) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Class<?>> visit(GenericArrayType genericArrayType) {
+            Optional<Class<?>> componentType = accept(genericArrayType.getGenericComponentType(), this);
+            return componentType.isPresent() ? RAW_ARRAY_TYPES.get(componentType.get()) : Optional.empty();
+        }
+
+    }
+
+    private static final class OnlyUpperBoundVisitor implements TypeVisitor<Optional<Type>> {
+
+        static final OnlyUpperBoundVisitor INSTANCE = new OnlyUpperBoundVisitor();
+
+        @Override
+        public Optional<Type> visit(Class<?> clazz) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Type> visit(ParameterizedType parameterizedType) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Type> visit(WildcardType wildcardType) {
+            return getOnlyBound(wildcardType.getUpperBounds());
+        }
+
+        @Override
+        public Optional<Type> visit(TypeVariable<?> typeVariable) {
+            return getOnlyBound(typeVariable.getBounds());
+        }
+
+        @Override
+        public Optional<Type> visit(GenericArrayType genericArrayType) {
+            return Optional.empty();
+        }
+
+        private static Optional<Type> getOnlyBound(Type[] bounds) {
+            if (bounds.length == 1) {
+                return Optional.of(bounds[0]);
+            }
+            return Optional.empty();
+        }
+
+    }
+
+    private static final class TrimWildcardVisitor implements TypeVisitor<Type> {
+
+        static final TrimWildcardVisitor INSTANCE = new TrimWildcardVisitor();
+
+        @Override
+        public Type visit(Class<?> clazz) {
+            return clazz;
+        }
+
+        @Override
+        public Type visit(ParameterizedType parameterizedType) {
+            return parameterizedType;
+        }
+
+        @Override
+        public Type visit(WildcardType wildcardType) {
+            Optional<Type> bound = getBound(wildcardType);
+            if (!bound.isPresent()) {
+                throw new IllegalArgumentException("Cannot trim wildcard type that does not have exactly one bound: " + wildcardType);
+            }
+            return bound.get();
+        }
+
+        @Override
+        public Type visit(TypeVariable<?> typeVariable) {
+            Optional<Type> bound = getBound(typeVariable);
+            if (!bound.isPresent()) {
+                throw new IllegalArgumentException("Cannot trim type variable that does not have exactly one bound: " + typeVariable);
+            }
+            return bound.get();
+        }
+
+        @Override
+        public Type visit(GenericArrayType genericArrayType) {
+            return genericArrayType;
+        }
+
+    }
+
 }
@@ -16,16 +16,23 @@
 
 package ch.leadrian.stubr.core;
 
+import ch.leadrian.stubr.core.strategy.EnhancingStubbingStrategy;
 import ch.leadrian.stubr.core.type.TypeLiteral;
+import ch.leadrian.stubr.core.type.TypeResolver;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
@@ -217,11 +224,276 @@ class StubberTest {
                     .isEqualTo(1234);
         }
 
+        @Test
+        void shouldRemoveDuplicateStrategy() {
+            StubbingStrategy strategy = testStrategy(Integer.class, 1337);
+            Stubber stubber = Stubber.builder()
+                    .include(Stubber.builder()
+                            .stubWith(strategy)
+                            .build())
+                    .stubWith(strategy)
+                    .build();
+
+            String description = stubber.describe();
+
+            assertThat(description)
+                    .contains("Removed strategies:", "duplicate");
+        }
+
+        @Test
+        void shouldApplyDuplicateEnhancingStrategyForEachOccurrence() {
+            StubbingStrategy strategy = new IncrementingStubbingStrategy();
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1337))
+                    .stubWith(strategy)
+                    .stubWith(strategy)
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(1339);
+        }
+
+        @Test
+        void shouldRemoveShadowedStrategy() {
+            CountingStubbingStrategy shadowedStrategy = new CountingStubbingStrategy(Integer.class, 1234, true);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(shadowedStrategy)
+                    .stubWith(new TestStubbingStrategy(Integer.class, 1337) {
+
+                        @Override
+                        public boolean shadows(StubbingStrategy other) {
+                            return other == shadowedStrategy;
+                        }
+                    })
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(1337);
+            assertThat(stubber.describe())
+                    .contains("Removed strategies:", "shadowed by");
+            assertThat(shadowedStrategy.getAcceptsCount())
+                    .isZero();
+        }
+
+        @Test
+        void shouldNotDescribeRemovedStrategiesIfNoneWereRemoved() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1337))
+                    .build();
+
+            String description = stubber.describe();
+
+            assertThat(description)
+                    .startsWith("Strategies in order of precedence:")
+                    .doesNotContain("Removed strategies:");
+        }
+
+    }
+
+    @Nested
+    class CandidateStrategiesTest {
+
+        @Test
+        void shouldAskRejectingContextIndependentStrategyOnlyOnce() {
+            CountingStubbingStrategy rejectingStrategy = new CountingStubbingStrategy(String.class, "Test", false);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1337))
+                    .stubWith(rejectingStrategy)
+                    .build();
+
+            stubber.stub(Integer.class);
+            stubber.stub(Integer.class);
+
+            assertThat(rejectingStrategy.getAcceptsCount())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void shouldAskRejectingContextDependentStrategyEveryTime() {
+            CountingStubbingStrategy rejectingStrategy = new CountingStubbingStrategy(String.class, "Test", true);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1337))
+                    .stubWith(rejectingStrategy)
+                    .build();
+
+            stubber.stub(Integer.class);
+            stubber.stub(Integer.class);
+
+            assertThat(rejectingStrategy.getAcceptsCount())
+                    .isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotAskStrategiesOverriddenByAcceptingContextIndependentStrategy() {
+            CountingStubbingStrategy overriddenStrategy = new CountingStubbingStrategy(Integer.class, 1, true);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(overriddenStrategy)
+                    .stubWith(new CountingStubbingStrategy(Integer.class, 2, false))
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(2);
+            assertThat(overriddenStrategy.getAcceptsCount())
+                    .isZero();
+        }
+
+        @Test
+        void shouldNotAskStrategiesOverriddenByAcceptingContextDependentStrategy() {
+            CountingStubbingStrategy overriddenStrategy = new CountingStubbingStrategy(Integer.class, 1, true);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(overriddenStrategy)
+                    .stubWith(new CountingStubbingStrategy(Integer.class, 2, true))
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(2);
+            assertThat(overriddenStrategy.getAcceptsCount())
+                    .isZero();
+        }
+
+        @Test
+        void shouldAskStrategyBelowStackedEnhancingStrategiesOnlyOnce() {
+            CountingStubbingStrategy enhancedStrategy = new CountingStubbingStrategy(Integer.class, 1, true);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(enhancedStrategy)
+                    .stubWith(new IncrementingStubbingStrategy())
+                    .stubWith(new IncrementingStubbingStrategy())
+                    .stubWith(new IncrementingStubbingStrategy())
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(4);
+            assertThat(enhancedStrategy.getAcceptsCount())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void shouldResolveCandidateStrategiesPerType() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(new CountingStubbingStrategy(Integer.class, 1337, false))
+                    .stubWith(new CountingStubbingStrategy(String.class, "Test", false))
+                    .build();
+
+            Object intValue = stubber.stub(Integer.class);
+            Object stringValue = stubber.stub(String.class);
+
+            assertThat(intValue)
+                    .isEqualTo(1337);
+            assertThat(stringValue)
+                    .isEqualTo("Test");
+        }
+
+        @Test
+        void shouldResolveCandidateStrategiesPerParameterizedType() {
+            Type listOfStrings = new TypeLiteral<List<String>>() {}.getType();
+            Type listOfIntegers = new TypeLiteral<List<Integer>>() {}.getType();
+            List<String> strings = singletonList("Test");
+            List<Integer> integers = singletonList(1337);
+            Stubber stubber = Stubber.builder()
+                    .stubWith(new CountingStubbingStrategy(listOfStrings, strings, false))
+                    .stubWith(new CountingStubbingStrategy(listOfIntegers, integers, false))
+                    .build();
+
+            Object value1 = stubber.stub(listOfStrings, TestStubbingSite.FOO);
+            Object value2 = stubber.stub(listOfIntegers, TestStubbingSite.FOO);
+            Result<List> value3 = stubber.tryToStub(List.class);
+
+            assertThat(asList(value1, value2))
+                    .containsExactly(strings, integers);
+            assertThat(value3.isFailure())
+                    .isTrue();
+        }
+
+    }
+
+    @Nested
+    class AcceptedRawTypesTest {
+
+        @Test
+        void shouldNotAskStrategyRestrictedToOtherRawTypes() {
+            CountingStubbingStrategy restrictedStrategy = new CountingStubbingStrategy(String.class, "Test", true, singleton(String.class));
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1337))
+                    .stubWith(restrictedStrategy)
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(1337);
+            assertThat(restrictedStrategy.getAcceptsCount())
+                    .isZero();
+        }
+
+        @Test
+        void shouldUseStrategyRestrictedToRawTypeOfParameterizedType() {
+            Type type = new TypeLiteral<List<String>>() {}.getType();
+            Stubber stubber = Stubber.builder()
+                    .stubWith(new CountingStubbingStrategy(type, asList("foo", "bar"), true, singleton(List.class)))
+                    .build();
+
+            Object value = stubber.stub(type, TestStubbingSite.FOO);
+
+            assertThat(value)
+                    .isEqualTo(asList("foo", "bar"));
+        }
+
+        @Test
+        void shouldPreferRestrictedStrategyAddedLast() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(testStrategy(Integer.class, 1))
+                    .stubWith(new CountingStubbingStrategy(Integer.class, 2, true, singleton(Integer.class)))
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(2);
+        }
+
+        @Test
+        void shouldPreferUnrestrictedStrategyAddedLast() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(new CountingStubbingStrategy(Integer.class, 1, true, singleton(Integer.class)))
+                    .stubWith(testStrategy(Integer.class, 2))
+                    .build();
+
+            Object value = stubber.stub(Integer.class);
+
+            assertThat(value)
+                    .isEqualTo(2);
+        }
+
     }
 
     @Nested
     class TryToStubTest<T> {
 
+        @Test
+        void givenNestedValueCannotBeStubbedItShouldThrowStubbingException() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(nestingStrategy(Integer.class, Float.class))
+                    .build();
+
+            Throwable caughtThrowable = catchThrowable(() -> stubber.tryToStub((Type) Integer.class, TestStubbingSite.FOO));
+
+            assertThat(caughtThrowable)
+                    .isInstanceOf(StubbingException.class)
+                    .hasMessageStartingWith("Failed to stub instance of class java.lang.Float");
+            assertThat(caughtThrowable.getStackTrace())
+                    .isNotEmpty();
+        }
+
         @Test
         void givenMatchingValueForTypeAndSiteItShouldReturnSuccess() {
             Stubber stubber = Stubber.builder()
@@ -465,6 +737,43 @@ class StubberTest {
                     .isEqualTo(1337);
         }
 
+        @Test
+        void shouldShareTypeResolverForSameType() {
+            List<TypeResolver> typeResolvers = new ArrayList<>();
+            Stubber stubber = Stubber.builder()
+                    .stubWith(new TestStubbingStrategy(Integer.class, 1337) {
+
+                        @Override
+                        public Object stub(StubbingContext context, Type type) {
+                            typeResolvers.add(context.getTypeResolver());
+                            return super.stub(context, type);
+                        }
+                    })
+                    .build();
+
+            stubber.stub((Type) Integer.class, TestStubbingSite.FOO);
+            stubber.stub((Type) Integer.class, TestStubbingSite.BAR);
+
+            assertThat(typeResolvers)
+                    .hasSize(2)
+                    .allSatisfy(typeResolver -> assertThat(typeResolver).isSameAs(typeResolvers.get(0)));
+        }
+
+        @Test
+        void givenNestedValueCannotBeStubbedItShouldThrowStubbingExceptionWithStackTrace() {
+            Stubber stubber = Stubber.builder()
+                    .stubWith(nestingStrategy(Integer.class, Float.class))
+                    .build();
+
+            Throwable caughtThrowable = catchThrowable(() -> stubber.stub((Type) Integer.class, TestStubbingSite.FOO));
+
+            assertThat(caughtThrowable)
+                    .isInstanceOf(StubbingException.class)
+                    .hasMessageStartingWith("Failed to stub instance of class java.lang.Float");
+            assertThat(caughtThrowable.getStackTrace())
+                    .isNotEmpty();
+        }
+
         @Test
         void givenNoMatchingValueForTypeAndSiteItShouldReturnFailure() {
             Stubber stubber = Stubber.builder()
@@ -700,6 +1009,71 @@ class StubberTest {
         return new TestStubbingStrategy(type, value);
     }
 
+    private static StubbingStrategy nestingStrategy(Type type, Type nestedType) {
+        return new TestStubbingStrategy(type, null) {
+
+            @Override
+            public Object stub(StubbingContext context, Type type) {
+                return context.getStubber().stub(nestedType, TestStubbingSite.BAR);
+            }
+        };
+    }
+
+    private static class CountingStubbingStrategy implements StubbingStrategy {
+
+        private final Type type;
+        private final Object value;
+        private final boolean contextDependent;
+        private final Set<Class<?>> acceptedRawTypes;
+        private int acceptsCount;
+
+        private CountingStubbingStrategy(Type type, Object value, boolean contextDependent, Set<Class<?>> acceptedRawTypes) {
+            this.type = type;
+            this.value = value;
+            this.contextDependent = contextDependent;
+            this.acceptedRawTypes = acceptedRawTypes;
+        }
+
+        private CountingStubbingStrategy(Type type, Object value, boolean contextDependent) {
+            this(type, value, contextDependent, null);
+        }
+
+        @Override
+        public boolean accepts(StubbingContext context, Type type) {
+            acceptsCount++;
+            return this.type.equals(type);
+        }
+
+        @Override
+        public Object stub(StubbingContext context, Type type) {
+            return value;
+        }
+
+        @Override
+        public boolean isContextDependent(Type type) {
+            return contextDependent;
+        }
+
+        @Override
+        public Optional<Set<Class<?>>> getAcceptedRawTypes() {
+            return Optional.ofNullable(acceptedRawTypes);
+        }
+
+        int getAcceptsCount() {
+            return acceptsCount;
+        }
+
+    }
+
+    private static class IncrementingStubbingStrategy extends EnhancingStubbingStrategy {
+
+        @Override
+        protected Object enhance(StubbingContext context, Type type, Object stubValue) {
+            return (Integer) stubValue + 1;
+        }
+
+    }
+
     private static class TestStubbingStrategy implements StubbingStrategy {
 
         private final Type type;
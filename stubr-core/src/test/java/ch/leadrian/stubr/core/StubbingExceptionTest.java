@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.leadrian.stubr.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StubbingExceptionTest {
+
+    @Test
+    void shouldFormatMessageFromSiteAndType() {
+        StubbingException exception = new StubbingException(TestStubbingSite.INSTANCE, String.class);
+
+        assertThat(exception)
+                .hasMessage("Cannot stub class java.lang.String at TestStubbingSite");
+    }
+
+    @Test
+    void shouldFormatMessageFromDetailsSiteAndType() {
+        StubbingException exception = new StubbingException("Test", TestStubbingSite.INSTANCE, String.class);
+
+        assertThat(exception)
+                .hasMessage("Cannot stub class java.lang.String at TestStubbingSite: Test");
+    }
+
+    @Test
+    void shouldUseGivenMessage() {
+        StubbingException exception = new StubbingException("Test");
+
+        assertThat(exception)
+                .hasMessage("Test");
+    }
+
+    @Test
+    void shouldKeepFormattedMessageAfterSerialization() throws IOException, ClassNotFoundException {
+        StubbingException exception = new StubbingException(TestStubbingSite.INSTANCE, String.class);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(exception);
+        }
+        Object deserializedException;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserializedException = in.readObject();
+        }
+
+        assertThat((Throwable) deserializedException)
+                .hasMessage("Cannot stub class java.lang.String at TestStubbingSite");
+    }
+
+    @Test
+    void shouldKeepStackTraceAfterSerialization() throws IOException, ClassNotFoundException {
+        StubbingException exception = new StubbingException(TestStubbingSite.INSTANCE, String.class);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(exception);
+        }
+        Object deserializedException;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserializedException = in.readObject();
+        }
+
+        assertThat(((Throwable) deserializedException).getStackTrace())
+                .isEqualTo(exception.getStackTrace());
+    }
+
+}
@@ -21,6 +21,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -77,4 +79,67 @@ class StubbingStrategyTest {
                 .isEqualTo("Test");
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldBeContextDependentByDefault() {
+        StubbingStrategy stubbingStrategy = new StubbingStrategy() {
+
+            @Override
+            public boolean accepts(StubbingContext context, Type type) {
+                return true;
+            }
+
+            @Override
+            public Object stub(StubbingContext context, Type type) {
+                return "Test";
+            }
+        };
+
+        boolean result = stubbingStrategy.isContextDependent(String.class);
+
+        assertThat(result)
+                .isTrue();
+    }
+
+    @Test
+    void shouldNotRestrictAcceptedRawTypesByDefault() {
+        StubbingStrategy stubbingStrategy = new StubbingStrategy() {
+
+            @Override
+            public boolean accepts(StubbingContext context, Type type) {
+                return true;
+            }
+
+            @Override
+            public Object stub(StubbingContext context, Type type) {
+                return "Test";
+            }
+        };
+
+        Optional<Set<Class<?>>> result = stubbingStrategy.getAcceptedRawTypes();
+
+        assertThat(result)
+                .isEmpty();
+    }
+
+    @Test
+    void shouldNotShadowOtherStrategiesByDefault() {
+        StubbingStrategy stubbingStrategy = new StubbingStrategy() {
+
+            @Override
+            public boolean accepts(StubbingContext context, Type type) {
+                return true;
+            }
+
+            @Override
+            public Object stub(StubbingContext context, Type type) {
+                return "Test";
+            }
+        };
+
+        boolean result = stubbingStrategy.shadows(stubbingStrategy);
+
+        assertThat(result)
+                .isFalse();
+    }
+
+}
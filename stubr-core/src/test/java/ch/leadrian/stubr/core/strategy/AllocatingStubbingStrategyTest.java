@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.Stubber;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static ch.leadrian.stubr.core.StubbingStrategyTester.stubbingStrategyTester;
+import static ch.leadrian.stubr.core.strategy.StubbingStrategies.constantValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllocatingStubbingStrategyTest {
+
+    @TestFactory
+    Stream<DynamicTest> testAllocatingStubber() {
+        return stubbingStrategyTester()
+                .accepts(Foo.class)
+                .andStubSatisfies(stub -> assertThat(stub).isInstanceOfSatisfying(Foo.class, foo -> {
+                    assertThat(foo.stringValue).isNull();
+                    assertThat(foo.intValue).isZero();
+                    assertThat(Foo.numberOfConstructorCalls).isZero();
+                }))
+                .accepts(Bar.class)
+                .andStubSatisfies(stub -> assertThat(stub).isInstanceOfSatisfying(Bar.class, bar -> {
+                    assertThat(bar.stringValue).isNull();
+                    assertThat(bar.intValue).isZero();
+                    assertThat(bar.longValue).isZero();
+                }))
+                .rejects(AbstractFoo.class)
+                .rejects(List.class)
+                .rejects(Baz.class)
+                .rejects(int.class)
+                .rejects(String[].class)
+                .rejects(String.class)
+                .rejects(Class.class)
+                .test(StubbingStrategies.allocatedInstance());
+    }
+
+    @Test
+    void shouldInjectFieldsOfAllocatedInstance() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.allocatedInstance())
+                .stubWith(StubbingStrategies.fieldInjection((context, field) -> true))
+                .stubWith(constantValue("test"))
+                .stubWith(constantValue(1337))
+                .build();
+
+        Qux qux = stubber.stub(Qux.class);
+
+        assertThat(qux.stringValue)
+                .isEqualTo("test");
+        assertThat(qux.integerValue)
+                .isEqualTo(1337);
+        assertThat(Qux.numberOfConstructorCalls)
+                .isZero();
+    }
+
+    private static class Foo {
+
+        static int numberOfConstructorCalls = 0;
+
+        final String stringValue;
+        final int intValue;
+
+        Foo(String stringValue, int intValue) {
+            numberOfConstructorCalls++;
+            this.stringValue = stringValue;
+            this.intValue = intValue;
+        }
+
+    }
+
+    private static class Bar extends Foo {
+
+        final long longValue;
+
+        Bar() {
+            super("test", 1337);
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    private static abstract class AbstractFoo {
+    }
+
+    private static class Qux {
+
+        static int numberOfConstructorCalls = 0;
+
+        String stringValue;
+        Integer integerValue;
+
+        Qux() {
+            numberOfConstructorCalls++;
+        }
+
+    }
+
+    private enum Baz {
+        INSTANCE
+    }
+
+}
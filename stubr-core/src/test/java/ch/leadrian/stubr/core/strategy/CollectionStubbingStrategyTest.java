@@ -17,11 +17,15 @@
 package ch.leadrian.stubr.core.strategy;
 
 import ch.leadrian.stubr.core.ParameterizedTypeLiteral;
+import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.TestStubbingSite;
 import ch.leadrian.stubr.core.site.StubbingSites;
 import ch.leadrian.stubr.core.type.TypeLiteral;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -148,4 +152,43 @@ class CollectionStubbingStrategyTest {
 
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0, true",
+            "0, 1, true",
+            "1, 1, true",
+            "1, 0, false"
+    })
+    void shouldShadowCollectionStrategyForSameClassIfRawTypeIsAlwaysAccepted(int size, int otherSize, boolean expectedResult) {
+        StubbingStrategy strategy = StubbingStrategies.collection(List.class, ArrayList::new, size);
+        StubbingStrategy otherStrategy = StubbingStrategies.collection(List.class, ArrayList::new, otherSize);
+
+        boolean result = strategy.shadows(otherStrategy);
+
+        assertThat(result)
+                .isEqualTo(expectedResult);
+    }
+
+    @Test
+    void shouldNotShadowCollectionStrategyForOtherClass() {
+        StubbingStrategy strategy = StubbingStrategies.collection(List.class, ArrayList::new, 0);
+        StubbingStrategy otherStrategy = StubbingStrategies.collection(Collection.class, ArrayList::new, 0);
+
+        boolean result = strategy.shadows(otherStrategy);
+
+        assertThat(result)
+                .isFalse();
+    }
+
+    @Test
+    void shouldNotShadowCollectionStrategyIfSizeIsUnknown() {
+        StubbingStrategy strategy = StubbingStrategies.collection(List.class, ArrayList::new, context -> 0);
+        StubbingStrategy otherStrategy = StubbingStrategies.collection(List.class, ArrayList::new, 0);
+
+        boolean result = strategy.shadows(otherStrategy);
+
+        assertThat(result)
+                .isFalse();
+    }
+
+}
@@ -24,9 +24,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ConditionalStubbingStrategyTest {
@@ -53,6 +59,45 @@ class ConditionalStubbingStrategyTest {
                 .isEqualTo(expectedResult);
     }
 
+    @Test
+    void shouldNotAskContextIndependentDelegateAgainForRejectedType() {
+        StubbingContext context = mock(StubbingContext.class);
+        Type type = String.class;
+        StubbingStrategy delegate = mock(StubbingStrategy.class);
+        when(delegate.accepts(context, type))
+                .thenReturn(false);
+        when(delegate.isContextDependent(type))
+                .thenReturn(false);
+        AtomicInteger matchCount = new AtomicInteger();
+        ConditionalStubbingStrategy strategy = new ConditionalStubbingStrategy(delegate, (c, t) -> matchCount.incrementAndGet() > 0);
+
+        strategy.accepts(context, type);
+        boolean result = strategy.accepts(context, type);
+
+        assertThat(result)
+                .isFalse();
+        assertThat(matchCount)
+                .hasValue(1);
+        verify(delegate, times(1)).accepts(context, type);
+    }
+
+    @Test
+    void shouldAskContextDependentDelegateAgainForRejectedType() {
+        StubbingContext context = mock(StubbingContext.class);
+        Type type = String.class;
+        StubbingStrategy delegate = mock(StubbingStrategy.class);
+        when(delegate.accepts(context, type))
+                .thenReturn(false);
+        when(delegate.isContextDependent(type))
+                .thenReturn(true);
+        ConditionalStubbingStrategy strategy = new ConditionalStubbingStrategy(delegate, (c, t) -> true);
+
+        strategy.accepts(context, type);
+        strategy.accepts(context, type);
+
+        verify(delegate, times(2)).accepts(context, type);
+    }
+
     @Test
     void shouldReturnStubbedValueFromDelegate() {
         StubbingContext context = mock(StubbingContext.class);
@@ -68,4 +113,17 @@ class ConditionalStubbingStrategyTest {
                 .isEqualTo("Test");
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnAcceptedRawTypesFromDelegate() {
+        StubbingStrategy delegate = mock(StubbingStrategy.class);
+        when(delegate.getAcceptedRawTypes())
+                .thenReturn(Optional.of(singleton(String.class)));
+        ConditionalStubbingStrategy strategy = new ConditionalStubbingStrategy(delegate, (c, t) -> true);
+
+        Optional<Set<Class<?>>> acceptedRawTypes = strategy.getAcceptedRawTypes();
+
+        assertThat(acceptedRawTypes)
+                .hasValue(singleton(String.class));
+    }
+
+}
@@ -19,13 +19,16 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.equalizer.Equals;
 import ch.leadrian.stubr.core.Matcher;
 import ch.leadrian.stubr.core.Selector;
+import ch.leadrian.stubr.core.Stubber;
 import ch.leadrian.stubr.core.TestStubbingSite;
 import ch.leadrian.stubr.core.site.StubbingSites;
 import ch.leadrian.stubr.core.type.TypeLiteral;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -33,6 +36,8 @@ import java.util.stream.Stream;
 import static ch.leadrian.equalizer.Equalizer.equalsBuilder;
 import static ch.leadrian.stubr.core.StubbingStrategyTester.stubbingStrategyTester;
 import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 class ConstructorStubbingStrategyTest {
 
@@ -101,6 +106,20 @@ class ConstructorStubbingStrategyTest {
                 .test(StubbingStrategies.constructor());
     }
 
+    @Test
+    void givenConstructorThrowsErrorItShouldWrapErrorInInvocationTargetException() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.constructor())
+                .build();
+
+        Throwable caughtThrowable = catchThrowable(() -> stubber.stub(ThrowingConstructor.class));
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(InvocationTargetException.class)
+                .hasRootCauseInstanceOf(AssertionError.class);
+    }
+
     @SuppressWarnings("unused")
     private static class MultiplePublicConstructors {
 
@@ -259,6 +278,15 @@ class ConstructorStubbingStrategyTest {
 
     }
 
+    @SuppressWarnings("unused")
+    private static class ThrowingConstructor {
+
+        ThrowingConstructor() {
+            throw new AssertionError("failed");
+        }
+
+    }
+
     private enum Foo {
     }
 
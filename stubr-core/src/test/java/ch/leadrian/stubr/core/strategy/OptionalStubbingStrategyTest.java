@@ -19,12 +19,15 @@ package ch.leadrian.stubr.core.strategy;
 import ch.leadrian.stubr.core.type.TypeLiteral;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static ch.leadrian.stubr.core.StubbingStrategyTester.stubbingStrategyTester;
+import static org.assertj.core.api.Assertions.assertThat;
 
 class OptionalStubbingStrategyTest {
 
@@ -96,4 +99,23 @@ class OptionalStubbingStrategyTest {
                 .test(StubbingStrategies.optional(OptionalStubbingMode.PRESENT_IF_POSSIBLE));
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @CsvSource({
+            "EMPTY, EMPTY, true",
+            "EMPTY, PRESENT, true",
+            "EMPTY, PRESENT_IF_POSSIBLE, true",
+            "PRESENT, EMPTY, false",
+            "PRESENT, PRESENT, true",
+            "PRESENT, PRESENT_IF_POSSIBLE, false",
+            "PRESENT_IF_POSSIBLE, EMPTY, true",
+            "PRESENT_IF_POSSIBLE, PRESENT, true",
+            "PRESENT_IF_POSSIBLE, PRESENT_IF_POSSIBLE, true"
+    })
+    void shouldShadowOptionalStrategyIfAllTypesAreAccepted(OptionalStubbingMode mode, OptionalStubbingMode otherMode, boolean expectedResult) {
+        boolean result = StubbingStrategies.optional(mode).shadows(StubbingStrategies.optional(otherMode));
+
+        assertThat(result)
+                .isEqualTo(expectedResult);
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.strategy.ProxyDispatchTable.Action;
+import ch.leadrian.stubr.core.strategy.ProxyDispatchTable.MethodDispatch;
+import ch.leadrian.stubr.core.type.TypeLiteral;
+import ch.leadrian.stubr.core.type.TypeResolver;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ProxyDispatchTableTest {
+
+    @Test
+    void shouldReturnSameTableForSameInterface() {
+        ProxyDispatchTable table1 = ProxyDispatchTable.of(Foo.class);
+        ProxyDispatchTable table2 = ProxyDispatchTable.of(Foo.class);
+
+        assertThat(table1)
+                .isSameAs(table2);
+    }
+
+    @Test
+    void shouldAssignOrdinalToEachMethod() {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+
+        assertThat(table.size())
+                .isEqualTo(8);
+    }
+
+    @Test
+    void shouldDispatchObjectMethods() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+
+        assertThat(getDispatch(table, Object.class.getMethod("hashCode")).getAction())
+                .isEqualTo(Action.IDENTITY_HASH_CODE);
+        assertThat(getDispatch(table, Object.class.getMethod("equals", Object.class)).getAction())
+                .isEqualTo(Action.IDENTITY_EQUALS);
+        assertThat(getDispatch(table, Object.class.getMethod("toString")).getAction())
+                .isEqualTo(Action.TO_STRING);
+    }
+
+    @Test
+    void shouldDispatchDefaultMethod() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+
+        MethodDispatch dispatch = getDispatch(table, Foo.class.getMethod("getDefaultValue"));
+
+        assertThat(dispatch.getAction())
+                .isEqualTo(Action.INVOKE_DEFAULT_METHOD);
+    }
+
+    @Test
+    void shouldReturnNullForVoidMethods() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+
+        assertThat(getDispatch(table, Foo.class.getMethod("doSomething")).getAction())
+                .isEqualTo(Action.RETURN_NULL);
+        assertThat(getDispatch(table, Foo.class.getMethod("doSomethingElse")).getAction())
+                .isEqualTo(Action.RETURN_NULL);
+    }
+
+    @Test
+    void shouldResolveGenericReturnType() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        TypeResolver typeResolver = TypeResolver.using(new TypeLiteral<Foo<String>>() {}.getType());
+
+        MethodDispatch dispatch = getDispatch(table, Foo.class.getMethod("getValues"));
+
+        assertThat(dispatch.getAction())
+                .isEqualTo(Action.STUB_RETURN_VALUE);
+        assertThat(dispatch.getReturnType(typeResolver))
+                .isEqualTo(new TypeLiteral<List<String>>() {}.getType());
+    }
+
+    @Test
+    void shouldNotResolveNonGenericReturnType() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        TypeResolver typeResolver = mock(TypeResolver.class);
+
+        MethodDispatch dispatch = getDispatch(table, Foo.class.getMethod("getName"));
+
+        assertThat(dispatch.getReturnType(typeResolver))
+                .isEqualTo(String.class);
+        verifyNoInteractions(typeResolver);
+    }
+
+    @Test
+    void shouldReturnSameOrdinalForEqualMethods() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        Method method = Foo.class.getMethod("getName");
+
+        int ordinal1 = table.getOrdinal(method);
+        int ordinal2 = table.getOrdinal(method);
+        int ordinal3 = table.getOrdinal(Foo.class.getMethod("getName"));
+
+        assertThat(asList(ordinal1, ordinal2, ordinal3))
+                .containsOnly(ordinal1);
+    }
+
+    @Test
+    void givenStaticMethodItShouldThrowException() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        Method method = Foo.class.getMethod("create");
+
+        Throwable caughtThrowable = catchThrowable(() -> table.getOrdinal(method));
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenUnknownMethodItShouldThrowException() throws NoSuchMethodException {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        Method method = String.class.getMethod("length");
+
+        Throwable caughtThrowable = catchThrowable(() -> table.getOrdinal(method));
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void toStringShouldContainInterfaceAndProxyClass() {
+        ProxyDispatchTable table = ProxyDispatchTable.of(Foo.class);
+        Object proxy = new Object();
+
+        String string = table.toString(proxy);
+
+        assertThat(string)
+                .isEqualTo("Stubbed ch.leadrian.stubr.core.strategy.ProxyDispatchTableTest$Foo (java.lang.Object@" + Integer.toHexString(System.identityHashCode(proxy)) + ")");
+    }
+
+    private static MethodDispatch getDispatch(ProxyDispatchTable table, Method method) {
+        return table.getDispatch(table.getOrdinal(method));
+    }
+
+    @SuppressWarnings("unused")
+    private interface Foo<T> {
+
+        List<T> getValues();
+
+        String getName();
+
+        default int getDefaultValue() {
+            return 1337;
+        }
+
+        void doSomething();
+
+        Void doSomethingElse();
+
+        static Foo<String> create() {
+            return null;
+        }
+
+    }
+
+}
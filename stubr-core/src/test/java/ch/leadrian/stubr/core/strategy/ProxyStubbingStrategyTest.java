@@ -16,6 +16,7 @@
 
 package ch.leadrian.stubr.core.strategy;
 
+import ch.leadrian.stubr.core.Stubber;
 import ch.leadrian.stubr.core.StubbingContext;
 import ch.leadrian.stubr.core.StubbingStrategy;
 import ch.leadrian.stubr.core.type.TypeLiteral;
@@ -24,11 +25,16 @@ import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
 import static ch.leadrian.stubr.core.StubbingStrategyTester.stubbingStrategyTester;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
 
@@ -73,6 +79,123 @@ class ProxyStubbingStrategyTest {
                 );
     }
 
+    @TestFactory
+    Stream<DynamicTest> testEagerProxyStubber() {
+        return stubbingStrategyTester()
+                .provideStub(int.class, 1, 2, 3)
+                .provideStub("Test")
+                .accepts(Foo.class)
+                .andStubSatisfies(stub -> assertThat(stub).isInstanceOfSatisfying(Foo.class, foo -> {
+                    assertAll(
+                            () -> assertThat(asList(foo.getInt(), foo.getInt(), foo.getInt())).containsExactly(1, 1, 1),
+                            () -> assertThat(foo.getAnotherInt()).isEqualTo(1234),
+                            () -> assertThat(foo.getString()).isEqualTo("Test")
+                    );
+                }))
+                .rejects(Bar.class)
+                .rejects(Qux.class)
+                .test(StubbingStrategies.eagerProxy());
+    }
+
+    @Test
+    void eagerProxyShouldStubReturnValuesOnCreation() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.suppliedValue(String.class, (IntFunction<String>) sequenceNumber -> "value" + sequenceNumber))
+                .stubWith(StubbingStrategies.eagerProxy())
+                .build();
+
+        Fubar<String> fubar = stubber.stub(new TypeLiteral<Fubar<String>>() {
+        });
+        String value = stubber.stub(String.class);
+
+        assertThat(asList(fubar.getGenericValue(), value))
+                .containsExactly("value0", "value1");
+    }
+
+    @Test
+    void eagerProxyShouldProvideReturnValuesOfSelfReferencingInterfaceLazily() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.eagerProxy())
+                .build();
+
+        Node node = stubber.stub(Node.class);
+
+        assertThat(node.next().next())
+                .isInstanceOf(Node.class)
+                .isSameAs(node.next().next())
+                .isNotSameAs(node.next());
+    }
+
+    @Test
+    void eagerProxyShouldNotStubReturnValuesOfStaticMethods() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.constantValue("Test"))
+                .stubWith(StubbingStrategies.eagerProxy())
+                .build();
+
+        Factory factory = stubber.stub(Factory.class);
+
+        assertThat(factory.getName())
+                .isEqualTo("Test");
+    }
+
+    @Test
+    void cachingProxyShouldFailWhenInvokingSameMethodWhileStubbingReturnValue() {
+        AtomicReference<Fubar<String>> fubarReference = new AtomicReference<>();
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.suppliedValue(String.class, (IntFunction<String>) sequenceNumber ->
+                        sequenceNumber == 0 ? fubarReference.get().getGenericValue() + "!" : "value" + sequenceNumber))
+                .stubWith(StubbingStrategies.proxy(true))
+                .build();
+        fubarReference.set(stubber.stub(new TypeLiteral<Fubar<String>>() {
+        }));
+
+        Throwable caughtThrowable = catchThrowable(() -> fubarReference.get().getGenericValue());
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Recursive invocation of");
+    }
+
+    @Test
+    void cachingProxyShouldStubReturnValueAgainAfterFailure() {
+        AtomicReference<Fubar<String>> fubarReference = new AtomicReference<>();
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.suppliedValue(String.class, (IntFunction<String>) sequenceNumber ->
+                        sequenceNumber == 0 ? fubarReference.get().getGenericValue() + "!" : "value" + sequenceNumber))
+                .stubWith(StubbingStrategies.proxy(true))
+                .build();
+        fubarReference.set(stubber.stub(new TypeLiteral<Fubar<String>>() {
+        }));
+        catchThrowable(() -> fubarReference.get().getGenericValue());
+
+        List<String> values = asList(fubarReference.get().getGenericValue(), fubarReference.get().getGenericValue());
+
+        assertThat(values)
+                .containsExactly("value1", "value1");
+    }
+
+    @Test
+    void cachingProxyShouldCacheNullReturnValues() {
+        AtomicInteger stubbingCount = new AtomicInteger();
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.suppliedValue(String.class, (IntFunction<String>) sequenceNumber -> {
+                    stubbingCount.incrementAndGet();
+                    return null;
+                }))
+                .stubWith(StubbingStrategies.proxy(true))
+                .build();
+        Fubar<String> fubar = stubber.stub(new TypeLiteral<Fubar<String>>() {
+        });
+
+        List<String> values = asList(fubar.getGenericValue(), fubar.getGenericValue());
+
+        assertAll(
+                () -> assertThat(values).containsExactly(null, null),
+                () -> assertThat(stubbingCount).hasValue(1)
+        );
+    }
+
     @TestFactory
     Stream<DynamicTest> testGenericProxies() {
         return stubbingStrategyTester()
@@ -88,10 +211,24 @@ class ProxyStubbingStrategyTest {
                         assertThat(fubar.getGenericValue()).isEqualTo(1234)))
                 .test(
                         StubbingStrategies.proxy(true),
-                        StubbingStrategies.proxy()
+                        StubbingStrategies.proxy(),
+                        StubbingStrategies.eagerProxy()
                 );
     }
 
+    @Test
+    void givenTypeVariableResolvedToVoidItShouldReturnNull() {
+        Stubber stubber = Stubber.builder()
+                .stubWith(StubbingStrategies.proxy())
+                .build();
+
+        Fubar<Void> fubar = stubber.stub(new TypeLiteral<Fubar<Void>>() {
+        });
+
+        assertThat(fubar.getGenericValue())
+                .isNull();
+    }
+
     @Test
     void testProxyEquals() {
         StubbingContext context = mock(StubbingContext.class);
@@ -107,6 +244,40 @@ class ProxyStubbingStrategyTest {
                 .testEquals();
     }
 
+    @Test
+    void proxiesOfSameInterfaceShouldShareProxyClass() {
+        StubbingContext context = mock(StubbingContext.class);
+
+        Foo foo1 = (Foo) StubbingStrategies.proxy(true).stub(context, Foo.class);
+        Foo foo2 = (Foo) StubbingStrategies.proxy(false).stub(context, Foo.class);
+
+        assertThat(foo1)
+                .isNotSameAs(foo2)
+                .hasSameClassAs(foo2);
+    }
+
+    @Test
+    void shouldInvokeDefaultMethodWithParameters() {
+        StubbingContext context = mock(StubbingContext.class);
+
+        Foo foo = (Foo) StubbingStrategies.proxy().stub(context, Foo.class);
+
+        assertThat(asList(foo.sum(1, 2), foo.sum(3, 4)))
+                .containsExactly(3, 7);
+    }
+
+    @Test
+    void shouldPropagateExceptionThrownByDefaultMethod() {
+        StubbingContext context = mock(StubbingContext.class);
+        Foo foo = (Foo) StubbingStrategies.proxy().stub(context, Foo.class);
+
+        Throwable caughtThrowable = catchThrowable(foo::fail);
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Test");
+    }
+
     @Test
     void toStringShouldNotReturnStubbedString() {
         StubbingContext context = mock(StubbingContext.class);
@@ -128,6 +299,14 @@ class ProxyStubbingStrategyTest {
 
         String getString();
 
+        default int sum(int a, int b) {
+            return a + b;
+        }
+
+        default void fail() {
+            throw new UnsupportedOperationException("Test");
+        }
+
     }
 
     private abstract class Bar {
@@ -142,4 +321,20 @@ class ProxyStubbingStrategyTest {
 
     }
 
+    private interface Factory {
+
+        String getName();
+
+        static Bar createBar() {
+            return null;
+        }
+
+    }
+
+    private interface Node {
+
+        Node next();
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 Adrian-Philipp Leuenberger
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package ch.leadrian.stubr.core.strategy;
+
+import ch.leadrian.stubr.core.strategy.ReflectionMetadata.InjectableField;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ReflectionMetadataTest {
+
+    @Test
+    void shouldReturnSameMetadataForSameClass() {
+        ReflectionMetadata metadata1 = ReflectionMetadata.of(Bar.class);
+        ReflectionMetadata metadata2 = ReflectionMetadata.of(Bar.class);
+
+        assertThat(metadata1)
+                .isSameAs(metadata2);
+    }
+
+    @Test
+    void shouldReturnNonPrivateConstructors() throws NoSuchMethodException {
+        Constructor<Bar> expectedConstructor = Bar.class.getDeclaredConstructor(String.class);
+
+        assertThat(ReflectionMetadata.of(Bar.class).getConstructors())
+                .containsExactly(expectedConstructor);
+    }
+
+    @Test
+    void shouldReturnNonPrivateStaticMethodsReturningInstance() throws NoSuchMethodException {
+        Method expectedMethod = Bar.class.getDeclaredMethod("create");
+
+        assertThat(ReflectionMetadata.of(Bar.class).getFactoryMethods())
+                .containsExactly(expectedMethod);
+    }
+
+    @Test
+    void shouldReturnInjectableFieldsOfClassAndSuperclasses() throws Exception {
+        Field barField = Bar.class.getDeclaredField("bar");
+        Field fooField = Foo.class.getDeclaredField("foo");
+
+        List<InjectableField> injectableFields = ReflectionMetadata.of(Bar.class).getInjectableFields();
+
+        assertThat(injectableFields)
+                .extracting(InjectableField::getField)
+                .containsExactly(barField, fooField);
+    }
+
+    @Test
+    void shouldSetValueOfInjectableField() throws Throwable {
+        Bar bar = new Bar("bar");
+        InjectableField injectableField = ReflectionMetadata.of(Bar.class).getInjectableFields().get(1);
+
+        injectableField.set(bar, "test");
+
+        assertThat(bar.foo)
+                .isEqualTo("test");
+    }
+
+    @Test
+    void givenValueOfWrongTypeInjectableFieldShouldThrowIllegalArgumentException() throws Exception {
+        Bar bar = new Bar("bar");
+        InjectableField injectableField = ReflectionMetadata.of(Bar.class).getInjectableFields().get(1);
+
+        Throwable caughtThrowable = catchThrowable(() -> injectableField.set(bar, 1337));
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasCauseInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    void shouldGroupInstanceMethodsOfClassAndSuperclassesBySignature() throws NoSuchMethodException {
+        Method barMethod = Bar.class.getDeclaredMethod("setFoo", String.class);
+        Method fooMethod = Foo.class.getDeclaredMethod("setFoo", String.class);
+
+        List<List<Method>> instanceMethods = ReflectionMetadata.of(Bar.class).getInstanceMethodsBySignature();
+
+        assertThat(instanceMethods)
+                .contains(asList(barMethod, fooMethod))
+                .noneMatch(methods -> methods.get(0).getName().equals("create"));
+    }
+
+    @Test
+    void shouldReturnSameParametersForSameExecutable() throws NoSuchMethodException {
+        Constructor<Bar> constructor = Bar.class.getDeclaredConstructor(String.class);
+
+        Parameter[] parameters1 = ReflectionMetadata.getParameters(constructor);
+        Parameter[] parameters2 = ReflectionMetadata.getParameters(Bar.class.getDeclaredConstructor(String.class));
+
+        assertThat(parameters1)
+                .isSameAs(parameters2)
+                .containsExactly(constructor.getParameters());
+    }
+
+    @Test
+    void shouldReturnConstructorInvoker() throws Throwable {
+        MethodHandle invoker = ReflectionMetadata.getInvoker(Bar.class.getDeclaredConstructor(String.class));
+
+        Object value = (Object) invoker.invokeExact(new Object[]{"test"});
+
+        assertThat(value)
+                .isInstanceOfSatisfying(Bar.class, bar -> assertThat(bar.bar).isEqualTo("test"));
+    }
+
+    @Test
+    void shouldReturnStaticMethodInvokerIgnoringReceiver() throws Throwable {
+        MethodHandle invoker = ReflectionMetadata.getInvoker(Bar.class.getDeclaredMethod("create"));
+
+        Object value = (Object) invoker.invokeExact((Object) null, new Object[0]);
+
+        assertThat(value)
+                .isInstanceOfSatisfying(Bar.class, bar -> assertThat(bar.bar).isEqualTo("bar"));
+    }
+
+    @Test
+    void shouldReturnVoidMethodInvokerReturningNull() throws Throwable {
+        Bar bar = new Bar("bar");
+        MethodHandle invoker = ReflectionMetadata.getInvoker(Bar.class.getDeclaredMethod("setFoo", String.class));
+
+        Object value = (Object) invoker.invokeExact((Object) bar, new Object[]{"foo"});
+
+        assertThat(value)
+                .isNull();
+        assertThat(bar.foo)
+                .isEqualTo("foo");
+    }
+
+    @Test
+    void shouldWrapExceptionThrownByMethodInInvocationTargetException() throws Exception {
+        MethodHandle invoker = ReflectionMetadata.getInvoker(Bar.class.getDeclaredMethod("fail"));
+
+        Throwable caughtThrowable = catchThrowable(() -> {
+            Object value = (Object) invoker.invokeExact((Object) null, new Object[0]);
+        });
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(InvocationTargetException.class)
+                .hasCauseInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldNotWrapExceptionThrownWhileAdaptingArguments() throws Exception {
+        MethodHandle invoker = ReflectionMetadata.getInvoker(Bar.class.getDeclaredConstructor(String.class));
+
+        Throwable caughtThrowable = catchThrowable(() -> {
+            Object value = (Object) invoker.invokeExact(new Object[]{1337});
+        });
+
+        assertThat(caughtThrowable)
+                .isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    void shouldReturnSameInvokerForSameExecutable() throws Throwable {
+        MethodHandle invoker1 = ReflectionMetadata.getInvoker(Bar.class.getDeclaredMethod("create"));
+        MethodHandle invoker2 = ReflectionMetadata.getInvoker(Bar.class.getDeclaredMethod("create"));
+
+        assertThat(invoker1)
+                .isSameAs(invoker2);
+    }
+
+    @SuppressWarnings("unused")
+    static class Foo {
+
+        static final String CONSTANT = "constant";
+
+        final String immutable = "immutable";
+
+        String foo;
+
+        void setFoo(String foo) {
+            this.foo = foo;
+        }
+
+    }
+
+    @SuppressWarnings("unused")
+    static class Bar extends Foo {
+
+        String bar;
+
+        Bar(String bar) {
+            this.bar = bar;
+        }
+
+        private Bar() {
+        }
+
+        static Bar create() {
+            return new Bar("bar");
+        }
+
+        private static Bar createPrivately() {
+            return new Bar();
+        }
+
+        static String createString() {
+            return "string";
+        }
+
+        static String fail() {
+            throw new UnsupportedOperationException("failed");
+        }
+
+        @Override
+        void setFoo(String foo) {
+            super.setFoo(foo);
+        }
+
+    }
+
+}
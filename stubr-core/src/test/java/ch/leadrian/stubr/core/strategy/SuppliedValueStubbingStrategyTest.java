@@ -94,4 +94,24 @@ class SuppliedValueStubbingStrategyTest {
                 .containsExactly(0, 1, 2);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldShadowStrategiesForSameType() {
+        StubbingStrategy strategy = StubbingStrategies.suppliedValue(Integer.class, index -> index);
+
+        boolean result = strategy.shadows(StubbingStrategies.constantValue(1337));
+
+        assertThat(result)
+                .isTrue();
+    }
+
+    @Test
+    void shouldNotShadowStrategiesForOtherType() {
+        StubbingStrategy strategy = StubbingStrategies.suppliedValue(Integer.class, index -> index);
+
+        boolean result = strategy.shadows(StubbingStrategies.constantValue(1337L));
+
+        assertThat(result)
+                .isFalse();
+    }
+
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +54,28 @@ class TypeLiteralTest {
                 );
     }
 
+    @Test
+    void shouldCaptureTypeOncePerClass() {
+        List<Type> types = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            types.add(new TypeLiteral<List<String>>() {
+            }.getType());
+        }
+
+        assertThat(types.get(0))
+                .isSameAs(types.get(1));
+    }
+
+    @Test
+    void shouldReturnCanonicalType() {
+        Type type = new TypeLiteral<List<String>>() {
+        }.getType();
+
+        assertThat(type)
+                .isSameAs(Types.canonicalize(type));
+    }
+
     @Test
     <T> void testEquals() {
         new EqualsTester()
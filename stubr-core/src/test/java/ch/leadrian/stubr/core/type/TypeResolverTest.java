@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -108,6 +110,105 @@ class TypeResolverTest {
                 .isEqualTo(int.class);
     }
 
+    @Test
+    void shouldReturnSameResolvedTypeWhenResolvingAgain() throws NoSuchMethodException {
+        TypeLiteral<Foo<String>> typeLiteral = new TypeLiteral<Foo<String>>() {
+        };
+        TypeResolver resolver = TypeResolver.using(typeLiteral);
+        Method selfMethod = Foo.class.getMethod("self");
+
+        Type resolvedType1 = resolver.resolve(selfMethod.getGenericReturnType());
+        Type resolvedType2 = resolver.resolve(selfMethod.getGenericReturnType());
+
+        assertThat(resolvedType2)
+                .isSameAs(resolvedType1);
+    }
+
+    @Test
+    void shouldBeEqualToResolverUsingSameType() {
+        TypeResolver resolver1 = TypeResolver.using(Fubar.class);
+        TypeResolver resolver2 = TypeResolver.using(Fubar.class);
+
+        resolver1.resolve(Foo.class.getTypeParameters()[0]);
+
+        assertThat(resolver1)
+                .isEqualTo(resolver2);
+    }
+
+    @Test
+    void shouldResolveTypeParameterOfIndirectSuperclass() {
+        TypeLiteral<Bar<Long>> typeLiteral = new TypeLiteral<Bar<Long>>() {
+        };
+        TypeResolver resolver = TypeResolver.using(typeLiteral);
+
+        Type resolvedType = resolver.resolve(Foo.class.getTypeParameters()[0]);
+
+        assertThat(resolvedType)
+                .isEqualTo(new TypeLiteral<List<Long>>() {
+                }.getType());
+    }
+
+    @Test
+    void shouldResolveTypeParameterOfInterface() {
+        TypeResolver resolver = TypeResolver.using(Fubar.class);
+
+        Type resolvedType = resolver.resolve(Supplier.class.getTypeParameters()[0]);
+
+        assertThat(resolvedType)
+                .isEqualTo(Integer.class);
+    }
+
+    @Test
+    void shouldResolveGenericArrayToArrayClass() throws NoSuchMethodException {
+        TypeResolver resolver = TypeResolver.using(Fubar.class);
+        Method arrayMethod = Foo.class.getMethod("array");
+
+        Type resolvedType = resolver.resolve(arrayMethod.getGenericReturnType());
+
+        assertThat(resolvedType)
+                .isEqualTo(Integer[].class);
+    }
+
+    @Test
+    void shouldResolveParameterizedTypeEqualToParameterizedTypeOfJdk() throws NoSuchMethodException {
+        TypeLiteral<Foo<String>> typeLiteral = new TypeLiteral<Foo<String>>() {
+        };
+        TypeResolver resolver = TypeResolver.using(typeLiteral);
+        Method listMethod = Foo.class.getMethod("list");
+        Type expectedType = new TypeLiteral<List<? extends String>>() {
+        }.getType();
+
+        Type resolvedType = resolver.resolve(listMethod.getGenericReturnType());
+
+        assertThat(resolvedType)
+                .isEqualTo(expectedType)
+                .hasSameHashCodeAs(expectedType)
+                .hasToString(expectedType.toString());
+    }
+
+    @Test
+    void shouldBoundWildcardTypeArgumentByBoundOfTypeParameter() {
+        TypeLiteral<Baz<?>> typeLiteral = new TypeLiteral<Baz<?>>() {
+        };
+        TypeResolver resolver = TypeResolver.using(typeLiteral);
+
+        Type resolvedType = resolver.resolve(Baz.class.getTypeParameters()[0]);
+
+        assertThat(Types.trimWildcard(resolvedType))
+                .isEqualTo(Number.class);
+    }
+
+    @Test
+    void shouldResolveTypeParameterOfOwnerTypeOfSuperclass() throws NoSuchMethodException {
+        TypeResolver resolver = TypeResolver.using(OuterInner.class);
+        Method valueMethod = Outer.Inner.class.getMethod("value");
+
+        Type resolvedType = resolver.resolve(valueMethod.getGenericReturnType());
+
+        assertThat(resolvedType)
+                .isEqualTo(String.class);
+    }
+
     static class Foo<T> {
 
         @SuppressWarnings("unused")
@@ -118,9 +219,49 @@ class TypeResolverTest {
             return this;
         }
 
+        public T[] array() {
+            return null;
+        }
+
+        public List<? extends T> list() {
+            return null;
+        }
+
+    }
+
+    static class Fubar extends Foo<Integer> implements Supplier<Integer> {
+
+        @Override
+        public Integer get() {
+            return 1337;
+        }
+
+    }
+
+    static class Bar<U> extends Foo<List<U>> {
+    }
+
+    static class Baz<N extends Number> {
     }
 
-    static class Fubar extends Foo<Integer> {
+    static class Outer<O> {
+
+        class Inner {
+
+            public O value() {
+                return null;
+            }
+
+        }
+
+    }
+
+    static class OuterInner extends Outer<String>.Inner {
+
+        OuterInner(Outer<String> outer) {
+            outer.super();
+        }
+
     }
 
 }
\ No newline at end of file
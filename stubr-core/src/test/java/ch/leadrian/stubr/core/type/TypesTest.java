@@ -21,10 +21,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.Serializable;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -388,6 +390,82 @@ class TypesTest {
 
     }
 
+    @Nested
+    class Canonicalize {
+
+        @Test
+        void givenClassItShouldJustReturnIt() {
+            Type canonicalType = Types.canonicalize(String.class);
+
+            assertThat(canonicalType)
+                    .isSameAs(String.class);
+        }
+
+        @Test
+        void givenEqualParameterizedTypesItShouldReturnSameInstance() {
+            Type type1 = new TypeLiteral<List<? extends Map<String, Integer>>>() {
+            }.getType();
+            Type type2 = new TypeLiteral<List<? extends Map<String, Integer>>>() {
+            }.getType();
+
+            Type canonicalType1 = Types.canonicalize(type1);
+            Type canonicalType2 = Types.canonicalize(type2);
+
+            assertThat(canonicalType1)
+                    .isSameAs(canonicalType2);
+        }
+
+        @Test
+        void shouldReturnTypeEqualToGivenType() {
+            Type type = new TypeLiteral<Map<String, List<? super Integer>>>() {
+            }.getType();
+
+            Type canonicalType = Types.canonicalize(type);
+
+            assertThat(canonicalType)
+                    .isEqualTo(type)
+                    .hasSameHashCodeAs(type)
+                    .hasToString(type.toString());
+            assertThat(type)
+                    .isEqualTo(canonicalType);
+        }
+
+        @Test
+        void givenCanonicalTypeItShouldReturnIt() {
+            Type canonicalType = Types.canonicalize(new TypeLiteral<List<String>>() {
+            }.getType());
+
+            Type type = Types.canonicalize(canonicalType);
+
+            assertThat(type)
+                    .isSameAs(canonicalType);
+        }
+
+        @Test
+        void givenGenericArrayTypeOfParameterizedTypeItShouldReturnEqualType() {
+            Type type = new TypeLiteral<List<String>[]>() {
+            }.getType();
+
+            Type canonicalType = Types.canonicalize(type);
+
+            assertThat(canonicalType)
+                    .isEqualTo(type)
+                    .isInstanceOf(GenericArrayType.class);
+        }
+
+        @Test
+        <T> void givenTypeVariableItShouldJustReturnIt() {
+            Type type = new TypeLiteral<T>() {
+            }.getType();
+
+            Type canonicalType = Types.canonicalize(type);
+
+            assertThat(canonicalType)
+                    .isSameAs(type);
+        }
+
+    }
+
     @Nested
     class VisitTypeHierarchy {
 
@@ -19,7 +19,6 @@ package ch.leadrian.stubr.core;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 final class CapturingStubber extends Stubber {
 
@@ -31,9 +30,24 @@ final class CapturingStubber extends Stubber {
     }
 
     @Override
-    Stream<StubbingContext> newContextStream(Stubber rootStubber, StubbingSite site, Type type) {
+    public String describe() {
+        return delegate.describe();
+    }
+
+    @Override
+    List<StubbingStrategy> getStrategies() {
+        return delegate.getStrategies();
+    }
+
+    @Override
+    List<StubbingStrategy> getStrategies(Type type) {
+        return delegate.getStrategies(type);
+    }
+
+    @Override
+    StubbingContext newContext(Stubber rootStubber, StubbingSite site, Type type) {
         capturedSites.add(site);
-        return delegate.newContextStream(rootStubber, site, type);
+        return delegate.newContext(rootStubber, site, type);
     }
 
     public List<StubbingSite> getCapturedSites() {
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.DynamicTest;
 
 import java.lang.reflect.Type;
 
+import static ch.leadrian.stubr.core.type.Types.getRawType;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
@@ -42,6 +43,9 @@ final class StubbingStrategyAcceptsType implements StubbingStrategyTestCase {
             boolean accepts = stubbingStrategy.accepts(context, acceptedType);
 
             assertThat(accepts).isTrue();
+            stubbingStrategy.getAcceptedRawTypes().ifPresent(acceptedRawTypes ->
+                    assertThat(getRawType(acceptedType)).hasValueSatisfying(rawType -> assertThat(acceptedRawTypes).contains(rawType))
+            );
         });
     }
 
@@ -16,6 +16,7 @@
 
 plugins {
     `java-library-conventions`
+    `java-test-fixtures`
     jacoco
 }
 
@@ -23,6 +24,9 @@ dependencies {
     implementation(libs.equalizer.core)
     implementation(libs.stubr.shaded.dependencies)
 
+    testFixturesImplementation(libs.equalizer.core)
+    testFixturesImplementation(libs.stubr.shaded.dependencies)
+
     testImplementation(project(":stubr-junit"))
     testImplementation(project(":stubr-core"))
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import ch.leadrian.stubr.core.StubbingException
 import ch.leadrian.stubr.core.strategy.SimpleStubbingStrategy
 import java.lang.reflect.GenericArrayType
 import java.lang.reflect.ParameterizedType
+import java.lang.reflect.Type
 
 internal object ObjectInstanceStubbingStrategy : SimpleStubbingStrategy<Any>() {
 
@@ -36,6 +37,10 @@ internal object ObjectInstanceStubbingStrategy : SimpleStubbingStrategy<Any>() {
         return false
     }
 
+    override fun isContextDependent(type: Type): Boolean {
+        return false
+    }
+
     override fun stubClass(context: StubbingContext, type: Class<*>): Any {
         return type.kotlin.objectInstance ?: throw StubbingException(context.site, type)
     }
@@ -21,6 +21,9 @@ import ch.leadrian.stubr.core.type.TypeLiteral
 /**
  * Inlined function for creating a type literal of a reified type [T].
  *
+ * Every call site creates its own anonymous subclass of [TypeLiteral], the type [T] is therefore only captured once per
+ * call site, no matter how often the function is called.
+ *
  * @param T the reified type
  * @return a type literal for type [T]
  * @see TypeLiteral
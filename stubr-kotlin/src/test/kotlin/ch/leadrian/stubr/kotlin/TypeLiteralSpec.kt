@@ -31,4 +31,13 @@ internal object TypeLiteralSpec : Spek({
         }
     }
 
+    describe("typeLiteral of parameterized type") {
+        val types = List(2) { typeLiteral<List<String>>().type }
+
+        it("should capture the type once per call site") {
+            assertThat(types[0])
+                .isSameAs(types[1])
+        }
+    }
+
 })
\ No newline at end of file